@@ -0,0 +1,74 @@
+package ru.practicum.benchmarks;
+
+import ru.practicum.dto.EndpointHitDto;
+import ru.practicum.dto.ViewStatsDto;
+import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.Event;
+import ru.practicum.ewm.model.Location;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.util.enums.EventState;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class BenchmarkData {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    static List<Event> events(int count) {
+        List<Category> categories = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            categories.add(new Category(i, 0L, "Category " + i));
+        }
+        List<User> users = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            users.add(new User(i, "User " + i, "user" + i + "@example.com"));
+        }
+
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Event event = new Event();
+            event.setId((long) i + 1);
+            event.setAnnotation("Annotation of the event number " + i + " that is long enough");
+            event.setDescription("Description of the event number " + i + ", a few sentences of plain text "
+                    + "that describe what is going to happen, where and why anyone should come.");
+            event.setTitle("Event " + i);
+            event.setInitiator(users.get(i % users.size()));
+            event.setCategory(categories.get(i % categories.size()));
+            event.setLocation(new Location((long) i + 1, 55.75f, 37.62f));
+            event.setConfirmedRequests(i % 40);
+            event.setParticipantLimit(i % 3 == 0 ? 0 : 50);
+            event.setPaid(i % 2 == 0);
+            event.setRequestModeration(true);
+            event.setState(EventState.PUBLISHED);
+            event.setCreatedOn(START.minusDays(i % 30));
+            event.setPublishedOn(START.minusDays(i % 30).plusHours(1));
+            event.setEventDate(START.plusDays(i % 90));
+            event.setViews((long) i * 7);
+            events.add(event);
+        }
+        return events;
+    }
+
+    static List<ViewStatsDto> viewStats(int count) {
+        List<ViewStatsDto> stats = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            stats.add(new ViewStatsDto("ewm-main-service", "/events/" + i, count - i));
+        }
+        return stats;
+    }
+
+    static List<EndpointHitDto> hits(int count) {
+        Random random = new Random(42);
+        List<EndpointHitDto> hits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            hits.add(new EndpointHitDto(null, "ewm-main-service", "/events/" + random.nextInt(1000),
+                    "10.0." + random.nextInt(256) + "." + random.nextInt(256), START.plusSeconds(i)));
+        }
+        return hits;
+    }
+}
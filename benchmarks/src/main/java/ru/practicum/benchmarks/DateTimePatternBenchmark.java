@@ -0,0 +1,66 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.ewm.util.DateTimePattern;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimePatternBenchmark {
+    private static final int SIZE = 1024;
+
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DateTimePattern.PATTERN);
+    private LocalDateTime[] timestamps;
+    private String[] formatted;
+
+    @Setup
+    public void setUp() {
+        timestamps = new LocalDateTime[SIZE];
+        formatted = new String[SIZE];
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        for (int i = 0; i < SIZE; i++) {
+            timestamps[i] = start.plusSeconds(i * 7919L);
+            formatted[i] = formatter.format(timestamps[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void format(Blackhole blackhole) {
+        for (LocalDateTime timestamp : timestamps) {
+            blackhole.consume(formatter.format(timestamp));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void formatWithNewFormatter(Blackhole blackhole) {
+        for (LocalDateTime timestamp : timestamps) {
+            blackhole.consume(DateTimeFormatter.ofPattern(DateTimePattern.PATTERN).format(timestamp));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void parse(Blackhole blackhole) {
+        for (String value : formatted) {
+            blackhole.consume(LocalDateTime.parse(value, formatter));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void parseWithNewFormatter(Blackhole blackhole) {
+        for (String value : formatted) {
+            blackhole.consume(LocalDateTime.parse(value, DateTimeFormatter.ofPattern(DateTimePattern.PATTERN)));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.ewm.dto.compilation.CompilationDto;
+import ru.practicum.ewm.dto.event.EventFullDto;
+import ru.practicum.ewm.dto.event.EventShortDto;
+import ru.practicum.ewm.mapper.CompilationMapper;
+import ru.practicum.ewm.mapper.CompilationMapperImpl;
+import ru.practicum.ewm.mapper.EventMapper;
+import ru.practicum.ewm.mapper.EventMapperImpl;
+import ru.practicum.ewm.model.Compilation;
+import ru.practicum.ewm.model.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMapperBenchmark {
+    private static final int EVENTS_PER_COMPILATION = 20;
+
+    @Param({"100", "1000"})
+    private int eventCount;
+
+    private final EventMapper eventMapper = new EventMapperImpl();
+    private final CompilationMapper compilationMapper = new CompilationMapperImpl();
+    private List<Event> events;
+    private List<Compilation> compilations;
+
+    @Setup
+    public void setUp() {
+        events = BenchmarkData.events(eventCount);
+        compilations = new ArrayList<>();
+        for (int from = 0; from < eventCount; from += EVENTS_PER_COMPILATION) {
+            Compilation compilation = new Compilation();
+            compilation.setId((long) compilations.size() + 1);
+            compilation.setPinned(compilations.size() % 2 == 0);
+            compilation.setTitle("Compilation " + compilations.size());
+            compilation.setEvents(events.subList(from, Math.min(from + EVENTS_PER_COMPILATION, eventCount)));
+            compilations.add(compilation);
+        }
+    }
+
+    @Benchmark
+    public List<EventFullDto> toEventFullDtoList() {
+        return eventMapper.toEventFullDtoList(events);
+    }
+
+    @Benchmark
+    public List<EventShortDto> toEventShortDtoList() {
+        return eventMapper.toEventShortDtoList(events);
+    }
+
+    @Benchmark
+    public List<CompilationDto> toCompilationDtoList() {
+        return compilationMapper.toListCompilationDto(compilations);
+    }
+}
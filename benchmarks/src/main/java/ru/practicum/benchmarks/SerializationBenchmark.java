@@ -0,0 +1,115 @@
+package ru.practicum.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.dto.EndpointHitDto;
+import ru.practicum.dto.ViewStatsDto;
+import ru.practicum.ewm.dto.event.EventFullDto;
+import ru.practicum.ewm.mapper.EventMapperImpl;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    private static final TypeReference<List<ViewStatsDto>> VIEW_STATS_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<List<EndpointHitDto>> HIT_LIST = new TypeReference<>() {
+    };
+
+    @Param({"1000"})
+    private int size;
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+    private List<EventFullDto> events;
+    private List<ViewStatsDto> viewStats;
+    private List<EndpointHitDto> hits;
+    private byte[] viewStatsJson;
+    private byte[] viewStatsCbor;
+    private byte[] hitsJson;
+    private byte[] hitsCbor;
+
+    @Setup
+    public void setUp() throws IOException {
+        events = new EventMapperImpl().toEventFullDtoList(BenchmarkData.events(size));
+        viewStats = BenchmarkData.viewStats(size);
+        hits = BenchmarkData.hits(size);
+        viewStatsJson = json.writeValueAsBytes(viewStats);
+        viewStatsCbor = cbor.writeValueAsBytes(viewStats);
+        hitsJson = json.writeValueAsBytes(hits);
+        hitsCbor = cbor.writeValueAsBytes(hits);
+    }
+
+    @Benchmark
+    public byte[] writeEventFullDtosJson() throws IOException {
+        return json.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] writeViewStatsJson(Payload payload) throws IOException {
+        return payload.record(json.writeValueAsBytes(viewStats));
+    }
+
+    @Benchmark
+    public byte[] writeViewStatsCbor(Payload payload) throws IOException {
+        return payload.record(cbor.writeValueAsBytes(viewStats));
+    }
+
+    @Benchmark
+    public List<ViewStatsDto> readViewStatsJson() throws IOException {
+        return json.readValue(viewStatsJson, VIEW_STATS_LIST);
+    }
+
+    @Benchmark
+    public List<ViewStatsDto> readViewStatsCbor() throws IOException {
+        return cbor.readValue(viewStatsCbor, VIEW_STATS_LIST);
+    }
+
+    @Benchmark
+    public byte[] writeHitsJson(Payload payload) throws IOException {
+        return payload.record(json.writeValueAsBytes(hits));
+    }
+
+    @Benchmark
+    public byte[] writeHitsCbor(Payload payload) throws IOException {
+        return payload.record(cbor.writeValueAsBytes(hits));
+    }
+
+    @Benchmark
+    public List<EndpointHitDto> readHitsJson() throws IOException {
+        return json.readValue(hitsJson, HIT_LIST);
+    }
+
+    @Benchmark
+    public List<EndpointHitDto> readHitsCbor() throws IOException {
+        return cbor.readValue(hitsCbor, HIT_LIST);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public double bytes;
+        private int measuredIterations;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkParams params) {
+            measuredIterations = params.getMeasurement().getCount() * Math.max(params.getForks(), 1);
+        }
+
+        byte[] record(byte[] payload) {
+            // JMH sums EVENTS counters over the measured iterations of all forks, so report each one's share.
+            bytes = (double) payload.length / measuredIterations;
+            return payload;
+        }
+    }
+}
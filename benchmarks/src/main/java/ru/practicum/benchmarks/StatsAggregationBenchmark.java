@@ -0,0 +1,103 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.dto.ViewStatsDto;
+import ru.practicum.server.mapper.EndpointHitMapper;
+import ru.practicum.server.mapper.EndpointHitMapperImpl;
+import ru.practicum.server.model.EndpointHit;
+import ru.practicum.server.model.RollupBucket;
+import ru.practicum.server.model.ViewStats;
+import ru.practicum.server.util.HyperLogLog;
+import ru.practicum.server.util.RollupBuckets;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsAggregationBenchmark {
+    private static final int DAYS = 30;
+
+    @Param({"10000", "100000"})
+    private int hitCount;
+
+    @Param({"100"})
+    private int uriCount;
+
+    private final EndpointHitMapper mapper = new EndpointHitMapperImpl();
+    private List<EndpointHit> hits;
+    private List<byte[]> dailySketches;
+    private List<ViewStats> viewStats;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        hits = new ArrayList<>(hitCount);
+        for (int i = 0; i < hitCount; i++) {
+            EndpointHit hit = new EndpointHit();
+            hit.setId((long) i);
+            hit.setApp("ewm-main-service");
+            hit.setUri("/events/" + random.nextInt(uriCount));
+            hit.setIp("10.0." + random.nextInt(256) + "." + random.nextInt(256));
+            hit.setTimestamp(start.plusSeconds(random.nextInt(DAYS * 24 * 3600)));
+            hits.add(hit);
+        }
+
+        dailySketches = new ArrayList<>(DAYS);
+        for (int day = 0; day < DAYS; day++) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int i = day; i < hitCount; i += DAYS) {
+                sketch.add(hits.get(i).getIp());
+            }
+            dailySketches.add(sketch.toBytes());
+        }
+
+        viewStats = new ArrayList<>(uriCount);
+        for (int i = 0; i < uriCount; i++) {
+            viewStats.add(new ViewStats("ewm-main-service", "/events/" + i, random.nextInt(hitCount)));
+        }
+    }
+
+    @Benchmark
+    public Map<RollupBucket, Long> foldRollupBuckets() {
+        return RollupBuckets.countHits(hits);
+    }
+
+    @Benchmark
+    public long countUniqueVisitorsWithSketch() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (EndpointHit hit : hits) {
+            sketch.add(hit.getIp());
+        }
+        return sketch.estimate();
+    }
+
+    @Benchmark
+    public long countUniqueVisitorsExactly() {
+        Set<String> ips = new HashSet<>();
+        for (EndpointHit hit : hits) {
+            ips.add(hit.getIp());
+        }
+        return ips.size();
+    }
+
+    @Benchmark
+    public long mergeDailySketches() {
+        HyperLogLog merged = new HyperLogLog();
+        for (byte[] registers : dailySketches) {
+            merged.merge(HyperLogLog.fromBytes(registers));
+        }
+        return merged.estimate();
+    }
+
+    @Benchmark
+    public List<ViewStatsDto> mapViewStats() {
+        return mapper.toViewStatsDtoList(viewStats);
+    }
+}
@@ -4,12 +4,17 @@ package ru.practicum.ewm;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "ru.practicum")
+@EnableScheduling
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
 public class EwmMainApp {
     public static void main(String[] args) {
         SpringApplication.run(EwmMainApp.class, args);
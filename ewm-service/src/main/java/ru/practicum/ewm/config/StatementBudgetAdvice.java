@@ -0,0 +1,37 @@
+package ru.practicum.ewm.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import ru.practicum.ewm.exception.ApiError;
+
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class StatementBudgetAdvice implements ResponseBodyAdvice<Object> {
+    private final StatementCountInterceptor statementCountInterceptor;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof ApiError || !(request instanceof ServletServerHttpRequest)
+                || !(response instanceof ServletServerHttpResponse)) {
+            return body;
+        }
+        statementCountInterceptor.checkBudget(((ServletServerHttpRequest) request).getServletRequest(),
+                ((ServletServerHttpResponse) response).getServletResponse(), true);
+        return body;
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.ewm.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import ru.practicum.ewm.exception.StatementBudgetExceededException;
+import ru.practicum.ewm.util.StatementBudget;
+import ru.practicum.ewm.util.StatementCounter;
+import ru.practicum.ewm.util.enums.StatementBudgetMode;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@Slf4j
+public class StatementCountInterceptor implements HandlerInterceptor {
+    public static final String STATEMENT_COUNT_HEADER = "X-Statement-Count";
+    private static final String BUDGET_ATTRIBUTE = StatementCountInterceptor.class.getName() + ".BUDGET";
+    private static final String CHECKED_ATTRIBUTE = StatementCountInterceptor.class.getName() + ".CHECKED";
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final MeterRegistry meterRegistry;
+    private final StatementBudgetMode mode;
+    private final int defaultBudget;
+    private final boolean exposeHeader;
+    private final int nPlusOneThreshold;
+
+    public StatementCountInterceptor(MeterRegistry meterRegistry,
+                                     @Value("${statements.budget.mode:LOG}") StatementBudgetMode mode,
+                                     @Value("${statements.budget.default:30}") int defaultBudget,
+                                     @Value("${statements.budget.expose-header:false}") boolean exposeHeader,
+                                     @Value("${statements.budget.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.mode = mode;
+        this.defaultBudget = defaultBudget;
+        this.exposeHeader = exposeHeader;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        StatementCounter.reset();
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(BUDGET_ATTRIBUTE, getBudget((HandlerMethod) handler));
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        checkBudget(request, response, true);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        checkBudget(request, response, false);
+        DistributionSummary.builder("hibernate.statements.per.request")
+                .tag("method", request.getMethod())
+                .tag("uri", getUri(request))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(StatementCounter.getCount());
+    }
+
+    public void checkBudget(HttpServletRequest request, HttpServletResponse response, boolean mayFail) {
+        Integer budget = (Integer) request.getAttribute(BUDGET_ATTRIBUTE);
+        if (budget == null || request.getAttribute(CHECKED_ATTRIBUTE) != null) {
+            return;
+        }
+        request.setAttribute(CHECKED_ATTRIBUTE, Boolean.TRUE);
+        int count = StatementCounter.getCount();
+        if (exposeHeader && !response.isCommitted()) {
+            response.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(count));
+        }
+        Map.Entry<String, Integer> repeated = StatementCounter.getMostRepeatedQuery();
+        if (repeated != null && repeated.getValue() >= nPlusOneThreshold) {
+            log.warn("Possible N+1 in {} {}: query executed {} times: {}", request.getMethod(), getUri(request),
+                    repeated.getValue(), repeated.getKey());
+        }
+        if (mode == StatementBudgetMode.OFF || count <= budget) {
+            return;
+        }
+        Counter.builder("hibernate.statements.budget.exceeded")
+                .tag("method", request.getMethod())
+                .tag("uri", getUri(request))
+                .register(meterRegistry)
+                .increment();
+        String message = String.format("%s %s executed %d statements, budget is %d", request.getMethod(),
+                getUri(request), count, budget);
+        if (mode == StatementBudgetMode.FAIL && mayFail && SAFE_METHODS.contains(request.getMethod())
+                && !response.isCommitted()) {
+            throw new StatementBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    private int getBudget(HandlerMethod handler) {
+        StatementBudget budget = handler.getMethodAnnotation(StatementBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), StatementBudget.class);
+        }
+        return budget != null ? budget.value() : defaultBudget;
+    }
+
+    private String getUri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -2,14 +2,15 @@ package ru.practicum.ewm.controller.admin_controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.ewm.dto.event.EventFullDto;
 import ru.practicum.ewm.dto.event.UpdateEventAdminRequest;
 import ru.practicum.ewm.service.EventService;
+import ru.practicum.ewm.util.PageCursor;
 import ru.practicum.ewm.util.enums.EventState;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -37,9 +38,13 @@ public class AdminEventController {
                                         @RequestParam(name = "rangeStart", required = false) LocalDateTime rangeStart,
                                         @RequestParam(name = "rangeEnd", required = false) LocalDateTime rangeEnd,
                                         @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
-                                        @RequestParam(name = "size", required = false, defaultValue = "10") Integer size) {
-        PageRequest pageRequest = PageRequest.of(from / size, size);
+                                        @RequestParam(name = "size", required = false, defaultValue = "10") Integer size,
+                                        @RequestParam(name = "cursor", required = false) String cursor,
+                                        HttpServletResponse response) {
         log.info("GET request /admin/events");
-        return eventService.getEventsWithParamsByAdmin(users, states, categoriesId, rangeStart, rangeEnd, pageRequest);
+        List<EventFullDto> events = eventService.getEventsWithParamsByAdmin(users, states, categoriesId, rangeStart,
+                rangeEnd, from, size, cursor);
+        PageCursor.writeNext(response, events, size, EventFullDto::getId);
+        return events;
     }
 }
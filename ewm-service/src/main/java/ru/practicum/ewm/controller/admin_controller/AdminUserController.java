@@ -6,7 +6,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.ewm.dto.user.UserDto;
 import ru.practicum.ewm.service.UserService;
+import ru.practicum.ewm.util.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
@@ -33,9 +35,13 @@ public class AdminUserController {
                                   @PositiveOrZero
                                   @RequestParam(name = "from", defaultValue = "0") Integer from,
                                   @Positive
-                                  @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                  @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                  @RequestParam(name = "cursor", required = false) String cursor,
+                                  HttpServletResponse response) {
         log.info("GET request /admin/users");
-        return userService.getUsers(ids, from, size);
+        List<UserDto> users = userService.getUsers(ids, from, size, cursor);
+        PageCursor.writeNext(response, users, size, UserDto::getId);
+        return users;
 
     }
 
@@ -14,7 +14,9 @@ import ru.practicum.ewm.dto.request.EventRequestStatusUpdateResult;
 import ru.practicum.ewm.dto.request.RequestDto;
 import ru.practicum.ewm.service.EventService;
 import ru.practicum.ewm.service.RequestService;
+import ru.practicum.ewm.util.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.util.List;
 
@@ -39,9 +41,13 @@ public class PrivateEventController {
     @ResponseStatus(HttpStatus.OK)
     public List<EventShortDto> getEventsByUser(@PathVariable Long userId,
                                                @RequestParam(name = "from", defaultValue = "0", required = false) Integer from,
-                                               @RequestParam(name = "size", defaultValue = "10", required = false) Integer size) {
+                                               @RequestParam(name = "size", defaultValue = "10", required = false) Integer size,
+                                               @RequestParam(name = "cursor", required = false) String cursor,
+                                               HttpServletResponse response) {
         log.info("GET request /users/{userId}/events");
-        return eventService.getEvents(userId, from, size);
+        List<EventShortDto> events = eventService.getEvents(userId, from, size, cursor);
+        PageCursor.writeNext(response, events, size, EventShortDto::getId);
+        return events;
     }
 
     @GetMapping("/{eventId}/requests")
@@ -6,6 +6,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.ewm.dto.request.RequestDto;
 import ru.practicum.ewm.service.RequestService;
+import ru.practicum.ewm.util.StatementBudget;
 
 import java.util.List;
 
@@ -17,6 +18,7 @@ public class PrivateRequestController {
     private final RequestService requestService;
 
     @PostMapping
+    @StatementBudget(5)
     @ResponseStatus(HttpStatus.CREATED)
     public RequestDto createRequest(@PathVariable(name = "userId") Long userId, @RequestParam(name = "eventId") Long eventId) {
         log.info("POST request /users/{userId}/requests");
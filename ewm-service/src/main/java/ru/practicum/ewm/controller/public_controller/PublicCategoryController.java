@@ -4,12 +4,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.ewm.dto.category.CategoryDto;
 import ru.practicum.ewm.service.CategoryService;
+import ru.practicum.ewm.util.PageCursor;
+import ru.practicum.ewm.util.StatementBudget;
 
 import java.util.List;
+import javax.servlet.http.HttpServletResponse;
 
 @RestController
+@StatementBudget(2)
 @RequestMapping(path = "/categories")
 @RequiredArgsConstructor
 @Slf4j
@@ -17,17 +22,25 @@ public class PublicCategoryController {
     private final CategoryService categoryService;
 
     @GetMapping("/{catId}")
-    @ResponseStatus(HttpStatus.OK)
-    public CategoryDto getCategory(@PathVariable Long catId) {
+    public CategoryDto getCategory(@PathVariable Long catId, WebRequest webRequest) {
         log.info("GET request /categories/{catId} ");
+        String eTag = categoryService.getCategoryETag(catId);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         return categoryService.getCategory(catId);
     }
 
     @GetMapping
+    @StatementBudget(1)
     @ResponseStatus(HttpStatus.OK)
     public List<CategoryDto> getCategories(@RequestParam(required = false, defaultValue = "0") Integer from,
-                                           @RequestParam(required = false, defaultValue = "10") Integer size) {
+                                           @RequestParam(required = false, defaultValue = "10") Integer size,
+                                           @RequestParam(required = false) String cursor,
+                                           HttpServletResponse response) {
         log.info("GET request /categories");
-        return categoryService.getCategories(from, size);
+        List<CategoryDto> categories = categoryService.getCategories(from, size, cursor);
+        PageCursor.writeNext(response, categories, size, CategoryDto::getId);
+        return categories;
     }
 }
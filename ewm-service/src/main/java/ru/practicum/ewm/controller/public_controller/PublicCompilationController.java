@@ -4,12 +4,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.ewm.dto.compilation.CompilationDto;
 import ru.practicum.ewm.service.CompilationService;
+import ru.practicum.ewm.util.PageCursor;
+import ru.practicum.ewm.util.StatementBudget;
 
 import java.util.List;
+import javax.servlet.http.HttpServletResponse;
 
 @RestController
+@StatementBudget(2)
 @RequestMapping("/compilations")
 @RequiredArgsConstructor
 @Slf4j
@@ -17,9 +22,12 @@ public class PublicCompilationController {
     private final CompilationService compilationService;
 
     @GetMapping("/{compId}")
-    @ResponseStatus(HttpStatus.OK)
-    public CompilationDto getCompilation(@PathVariable Long compId) {
+    public CompilationDto getCompilation(@PathVariable Long compId, WebRequest webRequest) {
         log.info("GET request /compilations/{compId}");
+        String eTag = compilationService.getCompilationETag(compId);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         return compilationService.getCompilation(compId);
     }
 
@@ -27,8 +35,12 @@ public class PublicCompilationController {
     @ResponseStatus(HttpStatus.OK)
     public List<CompilationDto> getCompilations(@RequestParam(name = "pinned", required = false) Boolean pinned,
                                                 @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
-                                                @RequestParam(name = "size", required = false, defaultValue = "10") Integer size) {
+                                                @RequestParam(name = "size", required = false, defaultValue = "10") Integer size,
+                                                @RequestParam(name = "cursor", required = false) String cursor,
+                                                HttpServletResponse response) {
         log.info("GET request /compilations");
-        return compilationService.getCompilations(pinned, from, size);
+        List<CompilationDto> compilations = compilationService.getCompilations(pinned, from, size, cursor);
+        PageCursor.writeNext(response, compilations, size, CompilationDto::getId);
+        return compilations;
     }
 }
\ No newline at end of file
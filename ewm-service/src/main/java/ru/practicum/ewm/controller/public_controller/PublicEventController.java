@@ -5,11 +5,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.ewm.dto.event.EventFullDto;
 import ru.practicum.ewm.dto.event.EventShortDto;
 import ru.practicum.ewm.service.EventService;
+import ru.practicum.ewm.util.PageCursor;
+import ru.practicum.ewm.util.StatementBudget;
+import ru.practicum.ewm.util.enums.SortValue;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import javax.validation.constraints.Size;
@@ -24,13 +29,19 @@ public class PublicEventController {
     private final EventService eventService;
 
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public EventFullDto getEvent(@PathVariable Long id, HttpServletRequest request) {
+    @StatementBudget(2)
+    public EventFullDto getEvent(@PathVariable Long id, HttpServletRequest request, WebRequest webRequest) {
         log.info("GET request /events/{id}");
+        String eTag = eventService.getEventETag(id);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            eventService.registerHit(request);
+            return null;
+        }
         return eventService.getEvent(id, request);
     }
 
     @GetMapping
+    @StatementBudget(1)
     @ResponseStatus(HttpStatus.OK)
     public List<EventShortDto> getEventsWithParamsByUser(@Size(min = 1, max = 7000)
                                                          @RequestParam(required = false) String text,
@@ -46,8 +57,17 @@ public class PublicEventController {
                                                          @RequestParam(required = false, defaultValue = "0") Integer from,
                                                          @Positive
                                                          @RequestParam(required = false, defaultValue = "10") Integer size,
-                                                         HttpServletRequest request) {
+                                                         @RequestParam(required = false) String cursor,
+                                                         HttpServletRequest request,
+                                                         HttpServletResponse response) {
         log.info("GET request /events");
-        return eventService.getEventsWithParamsByUser(text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort, from, size, request);
+        List<EventShortDto> events = eventService.getEventsWithParamsByUser(text, categories, paid, rangeStart, rangeEnd,
+                onlyAvailable, sort, from, size, cursor, request);
+        if (SortValue.EVENT_DATE.name().equalsIgnoreCase(sort)) {
+            PageCursor.writeNext(response, events, size, EventShortDto::getId, e -> e.getEventDate().toString());
+        } else if (sort == null && (text == null || cursor != null)) {
+            PageCursor.writeNext(response, events, size, EventShortDto::getId);
+        }
+        return events;
     }
 }
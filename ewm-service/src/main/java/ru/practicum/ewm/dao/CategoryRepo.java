@@ -1,9 +1,19 @@
 package ru.practicum.ewm.dao;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.ewm.model.Category;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CategoryRepo extends JpaRepository<Category, Long> {
+    List<Category> findAllByIdGreaterThan(Long id, Pageable page);
+
+    @Query("SELECT c.version FROM Category c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
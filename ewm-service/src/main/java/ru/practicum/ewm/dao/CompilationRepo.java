@@ -1,16 +1,34 @@
 package ru.practicum.ewm.dao;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.ewm.dto.compilation.CompilationVersionView;
 import ru.practicum.ewm.model.Compilation;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CompilationRepo extends JpaRepository<Compilation, Long> {
-    @Query("SELECT c FROM Compilation c WHERE (:pinned IS NULL OR c.pinned = :pinned)")
-    List<Compilation> findCompilations(@Param("pinned") Boolean pinned, Pageable pageable);
+    @Query("SELECT c.id FROM Compilation c WHERE (:pinned IS NULL OR c.pinned = :pinned) AND c.id > :afterId")
+    List<Long> findCompilationIds(@Param("pinned") Boolean pinned, @Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"events", "events.category", "events.initiator"})
+    @Query("SELECT DISTINCT c FROM Compilation c WHERE c.id IN :ids")
+    List<Compilation> findAllWithEventsByIdIn(@Param("ids") List<Long> ids);
+
+    @EntityGraph(attributePaths = {"events", "events.category", "events.initiator"})
+    @Query("SELECT c FROM Compilation c WHERE c.id = :id")
+    Optional<Compilation> findWithEventsById(@Param("id") Long id);
+
+    @Query("SELECT c.version AS version, COUNT(e.id) AS eventCount, " +
+            "COALESCE(SUM(e.version), 0) AS eventVersions, COALESCE(SUM(cat.version), 0) AS categoryVersions " +
+            "FROM Compilation c LEFT JOIN c.events e LEFT JOIN e.category cat " +
+            "WHERE c.id = :id " +
+            "GROUP BY c.id, c.version")
+    Optional<CompilationVersionView> findVersionById(@Param("id") Long id);
 }
@@ -1,12 +1,12 @@
 package ru.practicum.ewm.dao;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.ewm.dto.event.EventVersionView;
 import ru.practicum.ewm.model.Event;
 import ru.practicum.ewm.util.enums.EventState;
 
@@ -15,14 +15,14 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EventRepo extends JpaRepository<Event, Long> {
+public interface EventRepo extends JpaRepository<Event, Long>, EventRepoCustom {
     Boolean findByCategoryId(Long catId);
 
     Optional<Event> findByIdAndInitiatorId(Long eventId, Long userId);
 
     Optional<Event> findByIdAndPublishedOnIsNotNull(Long id);
 
-    Page<Event> findAllByInitiatorId(Long userId, Pageable page);
+    List<Event> findAllByInitiatorIdAndIdGreaterThan(Long userId, Long id, Pageable page);
 
     List<Event> findAllByCategoryId(Long id);
 
@@ -54,35 +54,33 @@ public interface EventRepo extends JpaRepository<Event, Long> {
             "WHERE e.id = :id")
     Optional<Event> findByIdWithAllParams(@Param("id") Long id);
 
-    @Query(value = "SELECT e FROM Event AS e " +
-            "WHERE (e.state = 'PUBLISHED') " +
-            "AND (:text IS NULL) " +
-            "OR (LOWER(e.annotation) LIKE LOWER(CONCAT('%', :text, '%'))) " +
-            "OR (LOWER(e.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
-            "OR (LOWER(e.title) LIKE LOWER(CONCAT('%', :text, '%'))) " +
-            "AND (:categories IS NULL OR e.category.id IN :categories) " +
-            "AND (:paid IS NULL OR e.paid = :paid) " +
-            "OR (CAST(:rangeStart AS date) IS NULL AND CAST(:rangeStart AS date) IS NULL)" +
-            "OR (CAST(:rangeStart AS date) IS NULL AND e.eventDate < CAST(:rangeEnd AS date)) " +
-            "OR (CAST(:rangeEnd AS date) IS NULL AND e.eventDate > CAST(:rangeStart AS date)) " +
-            "AND (e.confirmedRequests < e.participantLimit OR :onlyAvailable = FALSE)" +
-            "GROUP BY e.id " +
-            "ORDER BY LOWER(:sort) ASC")
-    List<Event> findEventsWithParamsByUser(@Param("text") String text,
-                                           @Param("categories") List<Long> categories,
-                                           @Param("paid") Boolean paid,
-                                           @Param("rangeStart") LocalDateTime rangeStart,
-                                           @Param("rangeEnd") LocalDateTime rangeEnd,
-                                           @Param("onlyAvailable") Boolean onlyAvailable,
-                                           @Param("sort") String sort,
-                                           PageRequest pageRequest);
-
     @Query("SELECT e from Event e " +
             "WHERE (:users is null or e.initiator.id in :users) " +
             "AND (:states is null or e.state in :states) " +
             "AND (:categories is null or e.category.id in :categories) " +
             "AND e.eventDate > :rangeStart " +
-            "AND e.eventDate < :rangeEnd")
+            "AND e.eventDate < :rangeEnd " +
+            "AND e.id > :afterId")
     List<Event> findEventsWithParams(List<Long> users, List<EventState> states, List<Long> categories,
-                                     LocalDateTime rangeStart, LocalDateTime rangeEnd, Pageable page);
+                                     LocalDateTime rangeStart, LocalDateTime rangeEnd, Long afterId, Pageable page);
+
+    @Query("SELECT e.id AS id, e.version AS version, e.state AS state, e.createdOn AS createdOn, " +
+            "c.version AS categoryVersion " +
+            "FROM Event e JOIN e.category c " +
+            "WHERE e.id = :id")
+    Optional<EventVersionView> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT MIN(e.createdOn) FROM Event e")
+    Optional<LocalDateTime> findEarliestCreatedOn();
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = e.confirmedRequests + :count, e.version = e.version + 1 " +
+            "WHERE e.id = :id " +
+            "AND (e.participantLimit = 0 OR e.confirmedRequests + :count <= e.participantLimit)")
+    int reserveParticipants(@Param("id") Long id, @Param("count") int count);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = e.confirmedRequests - :count, e.version = e.version + 1 " +
+            "WHERE e.id = :id AND e.confirmedRequests >= :count")
+    int releaseParticipants(@Param("id") Long id, @Param("count") int count);
 }
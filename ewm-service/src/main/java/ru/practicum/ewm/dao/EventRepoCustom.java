@@ -0,0 +1,13 @@
+package ru.practicum.ewm.dao;
+
+import ru.practicum.ewm.dto.event.EventSearchParams;
+import ru.practicum.ewm.model.Event;
+
+import java.util.List;
+import java.util.Map;
+
+public interface EventRepoCustom {
+    List<Event> findPublishedEvents(EventSearchParams params);
+
+    int updateRankedViews(Map<Long, Long> views);
+}
@@ -0,0 +1,123 @@
+package ru.practicum.ewm.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.dto.event.EventSearchParams;
+import ru.practicum.ewm.model.Event;
+import ru.practicum.ewm.util.EwmPostgreSQLDialect;
+import ru.practicum.ewm.util.enums.EventState;
+import ru.practicum.ewm.util.enums.SortValue;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class EventRepoCustomImpl implements EventRepoCustom {
+    private static final char LIKE_ESCAPE = '\\';
+    private static final String UPDATE_RANKED_VIEWS =
+            "UPDATE events SET ranked_views = ? WHERE id = ? AND ranked_views <> ?";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${events.search.similarity-rank:true}")
+    private boolean similarityRank;
+
+    @Override
+    public List<Event> findPublishedEvents(EventSearchParams params) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> event = query.from(Event.class);
+        event.fetch("category", JoinType.INNER);
+        event.fetch("initiator", JoinType.INNER);
+
+        boolean hasText = params.getText() != null && !params.getText().isBlank();
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(event.get("state"), EventState.PUBLISHED));
+        if (hasText) {
+            String pattern = "%" + escapeLike(params.getText().toLowerCase()) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(event.get("annotation")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(event.get("description")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(event.get("title")), pattern, LIKE_ESCAPE)));
+        }
+        if (params.getCategories() != null && !params.getCategories().isEmpty()) {
+            predicates.add(event.get("category").get("id").in(params.getCategories()));
+        }
+        if (params.getPaid() != null) {
+            predicates.add(cb.equal(event.get("paid"), params.getPaid()));
+        }
+        if (params.getRangeStart() == null && params.getRangeEnd() == null) {
+            predicates.add(cb.greaterThan(event.get("eventDate"), LocalDateTime.now()));
+        }
+        if (params.getRangeStart() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(event.get("eventDate"), params.getRangeStart()));
+        }
+        if (params.getRangeEnd() != null) {
+            predicates.add(cb.lessThanOrEqualTo(event.get("eventDate"), params.getRangeEnd()));
+        }
+        if (Boolean.TRUE.equals(params.getOnlyAvailable())) {
+            predicates.add(cb.or(
+                    cb.equal(event.get("participantLimit"), 0),
+                    cb.lessThan(event.get("confirmedRequests"), event.get("participantLimit"))));
+        }
+        if (params.getAfterEventDate() != null) {
+            predicates.add(cb.or(
+                    cb.greaterThan(event.get("eventDate"), params.getAfterEventDate()),
+                    cb.and(cb.equal(event.get("eventDate"), params.getAfterEventDate()),
+                            cb.greaterThan(event.get("id"), params.getAfterId()))));
+        } else if (params.getAfterId() != null) {
+            predicates.add(cb.greaterThan(event.get("id"), params.getAfterId()));
+        }
+        query.select(event).where(predicates.toArray(new Predicate[0]));
+
+        if (params.getSort() == SortValue.EVENT_DATE) {
+            query.orderBy(cb.asc(event.get("eventDate")), cb.asc(event.get("id")));
+        } else if (params.getSort() == SortValue.VIEWS) {
+            query.orderBy(cb.desc(event.get("rankedViews")), cb.asc(event.get("id")));
+        } else if (params.getSort() == null && params.getAfterId() == null && hasText && similarityRank) {
+            query.orderBy(cb.desc(cb.function(EwmPostgreSQLDialect.TEXT_RANK, Double.class, event.get("title"),
+                    event.get("annotation"), event.get("description"), cb.literal(params.getText()))),
+                    cb.asc(event.get("id")));
+        } else {
+            query.orderBy(cb.asc(event.get("id")));
+        }
+
+        TypedQuery<Event> typedQuery = entityManager.createQuery(query);
+        if (params.getFrom() != null) {
+            typedQuery.setFirstResult(params.getFrom());
+        }
+        if (params.getSize() != null) {
+            typedQuery.setMaxResults(params.getSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public int updateRankedViews(Map<Long, Long> views) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(views.entrySet());
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_RANKED_VIEWS, entries, 500, (ps, entry) -> {
+            ps.setLong(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+            ps.setLong(3, entry.getValue());
+        });
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).map(count -> Math.max(count, 0)).sum();
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
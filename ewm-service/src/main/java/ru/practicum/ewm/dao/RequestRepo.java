@@ -5,7 +5,6 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.ewm.model.Request;
-import ru.practicum.ewm.util.enums.RequestStatus;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,8 +21,6 @@ public interface RequestRepo extends JpaRepository<Request, Long> {
 
     Long countByEventId(Long eventId);
 
-    int countAllByEventIdAndStatus(Long eventId, RequestStatus status);
-
     @Query("select r from Request as r " +
             "join Event as e ON r.event.id = e.id " +
             "where r.event.id = :eventId and e.initiator.id = :userId")
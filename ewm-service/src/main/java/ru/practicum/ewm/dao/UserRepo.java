@@ -1,9 +1,13 @@
 package ru.practicum.ewm.dao;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.ewm.model.User;
 
+import java.util.List;
+
 @Repository
 public interface UserRepo extends JpaRepository<User, Long> {
+    List<User> findAllByIdGreaterThan(Long id, Pageable page);
 }
@@ -0,0 +1,11 @@
+package ru.practicum.ewm.dto.compilation;
+
+public interface CompilationVersionView {
+    Long getVersion();
+
+    Long getEventCount();
+
+    Long getEventVersions();
+
+    Long getCategoryVersions();
+}
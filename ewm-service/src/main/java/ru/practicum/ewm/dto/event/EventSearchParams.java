@@ -0,0 +1,24 @@
+package ru.practicum.ewm.dto.event;
+
+import lombok.Builder;
+import lombok.Getter;
+import ru.practicum.ewm.util.enums.SortValue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+public class EventSearchParams {
+    private String text;
+    private List<Long> categories;
+    private Boolean paid;
+    private LocalDateTime rangeStart;
+    private LocalDateTime rangeEnd;
+    private Boolean onlyAvailable;
+    private SortValue sort;
+    private Long afterId;
+    private LocalDateTime afterEventDate;
+    private Integer from;
+    private Integer size;
+}
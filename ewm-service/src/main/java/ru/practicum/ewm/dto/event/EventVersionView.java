@@ -0,0 +1,17 @@
+package ru.practicum.ewm.dto.event;
+
+import ru.practicum.ewm.util.enums.EventState;
+
+import java.time.LocalDateTime;
+
+public interface EventVersionView {
+    Long getId();
+
+    Long getVersion();
+
+    EventState getState();
+
+    LocalDateTime getCreatedOn();
+
+    Long getCategoryVersion();
+}
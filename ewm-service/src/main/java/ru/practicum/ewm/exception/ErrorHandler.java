@@ -1,6 +1,7 @@
 package ru.practicum.ewm.exception;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
@@ -37,6 +38,12 @@ public class ErrorHandler {
         return new ApiError("CONFLICT", "Integrity constraint has been violated.", e.getMessage(), LocalDateTime.now());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiError handleOptimisticLockingFailureException(final OptimisticLockingFailureException e) {
+        return new ApiError("CONFLICT", "The object was modified concurrently.", e.getMessage(), LocalDateTime.now());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiError handleMethodArgumentNotValidException(final MethodArgumentNotValidException e) {
@@ -50,6 +57,12 @@ public class ErrorHandler {
         return new ApiError("BAD_REQUEST", "Missing Parameter.", e.getMessage(), LocalDateTime.now());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public ApiError handleStatementBudgetExceededException(final StatementBudgetExceededException e) {
+        return new ApiError("INTERNAL_SERVER_ERROR", "Statement budget exceeded.", e.getMessage(), LocalDateTime.now());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ApiError handleThrowableExceptions(final Exception e) {
@@ -18,6 +18,8 @@ public class Compilation {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    @Version
+    private Long version;
     private Boolean pinned;
     private String title;
     @ManyToMany(fetch = FetchType.LAZY)
@@ -4,7 +4,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.Formula;
 import ru.practicum.ewm.util.enums.EventState;
 
 import javax.persistence.*;
@@ -21,6 +20,8 @@ public class Event {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    @Version
+    private Long version;
     private String annotation;
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "initiator_id", nullable = false)
@@ -28,7 +29,7 @@ public class Event {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
-    @Formula(value = "(select count(r.id) from requests as r where r.event_id = id and r.status like 'CONFIRMED')")
+    @Column(name = "confirmed_requests", nullable = false, updatable = false)
     private int confirmedRequests;
     private String description;
     private LocalDateTime eventDate;
@@ -45,6 +46,8 @@ public class Event {
     private LocalDateTime publishedOn;
     @Transient
     private Long views;
+    @Column(name = "ranked_views", insertable = false, updatable = false)
+    private long rankedViews;
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "compilations_events",
@@ -9,9 +9,11 @@ public interface CategoryService {
 
     CategoryDto getCategory(Long catId);
 
+    String getCategoryETag(Long catId);
+
     void deleteCategory(Long catId);
 
     CategoryDto updateCategory(Long catId, CategoryDto categoryDto);
 
-    List<CategoryDto> getCategories(Integer from, Integer size);
+    List<CategoryDto> getCategories(Integer from, Integer size, String cursor);
 }
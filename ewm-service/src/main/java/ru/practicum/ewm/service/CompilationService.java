@@ -11,9 +11,11 @@ public interface CompilationService {
 
     CompilationDto getCompilation(Long compId);
 
+    String getCompilationETag(Long compId);
+
     void deleteCompilation(Long compId);
 
     CompilationDto updateCompilation(Long compId, UpdateCompilationRequest updateCompilationRequest);
 
-    List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size);
+    List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size, String cursor);
 }
@@ -1,6 +1,5 @@
 package ru.practicum.ewm.service;
 
-import org.springframework.data.domain.PageRequest;
 import ru.practicum.ewm.dto.event.*;
 import ru.practicum.ewm.util.enums.EventState;
 
@@ -13,7 +12,11 @@ public interface EventService {
 
     EventFullDto getEvent(Long eventId, HttpServletRequest request);
 
-    List<EventShortDto> getEvents(Long userId, Integer from, Integer size);
+    String getEventETag(Long eventId);
+
+    void registerHit(HttpServletRequest request);
+
+    List<EventShortDto> getEvents(Long userId, Integer from, Integer size, String cursor);
 
     EventFullDto updateEventByAdmin(Long eventId, UpdateEventAdminRequest updateEventAdminRequest);
 
@@ -22,9 +25,10 @@ public interface EventService {
     EventFullDto getEventByUserId(Long userId, Long eventId);
 
     List<EventFullDto> getEventsWithParamsByAdmin(List<Long> users, List<EventState> states, List<Long> categories,
-                                                  LocalDateTime rangeStart, LocalDateTime rangeEnd, PageRequest page);
+                                                  LocalDateTime rangeStart, LocalDateTime rangeEnd, Integer from, Integer size,
+                                                  String cursor);
 
     List<EventShortDto> getEventsWithParamsByUser(String text, List<Long> categories, Boolean paid, LocalDateTime rangeStart,
                                                   LocalDateTime rangeEnd, Boolean onlyAvailable, String sort,
-                                                  Integer from, Integer size, HttpServletRequest request);
+                                                  Integer from, Integer size, String cursor, HttpServletRequest request);
 }
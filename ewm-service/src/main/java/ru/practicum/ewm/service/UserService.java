@@ -9,5 +9,5 @@ public interface UserService {
 
     void deleteUser(Long id);
 
-    List<UserDto> getUsers(List<Long> ids, Integer from, Integer size);
+    List<UserDto> getUsers(List<Long> ids, Integer from, Integer size, String cursor);
 }
@@ -0,0 +1,7 @@
+package ru.practicum.ewm.service;
+
+public interface ViewRankingService {
+    void refresh();
+
+    void ensureFresh();
+}
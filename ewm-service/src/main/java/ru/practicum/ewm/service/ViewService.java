@@ -0,0 +1,15 @@
+package ru.practicum.ewm.service;
+
+import ru.practicum.ewm.model.Event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface ViewService {
+    Map<Long, Long> getViews(List<Event> events);
+
+    Long getViews(Long eventId, LocalDateTime createdOn);
+
+    void setViews(List<Event> events);
+}
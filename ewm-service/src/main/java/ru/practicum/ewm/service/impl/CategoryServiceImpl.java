@@ -1,8 +1,11 @@
 package ru.practicum.ewm.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.ewm.dao.CategoryRepo;
@@ -13,10 +16,14 @@ import ru.practicum.ewm.exception.DataNotFoundException;
 import ru.practicum.ewm.mapper.CategoryMapper;
 import ru.practicum.ewm.model.Category;
 import ru.practicum.ewm.service.CategoryService;
+import ru.practicum.ewm.util.CacheNames;
+import ru.practicum.ewm.util.OffsetPageRequest;
+import ru.practicum.ewm.util.PageCursor;
 
 import java.util.List;
 
 @Service
+@Timed(value = "ewm.service", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class CategoryServiceImpl implements CategoryService {
@@ -25,12 +32,14 @@ public class CategoryServiceImpl implements CategoryService {
     private final EventRepo eventRepo;
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.CATEGORIES, allEntries = true)
     public CategoryDto saveCategory(CategoryDto categoryDto) {
         log.info("Category with name {} was created.", categoryDto.getName());
         return mapper.toCategoryDto(categoryRepo.save(mapper.toCategory(categoryDto)));
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.CATEGORY, key = "#catId")
     public CategoryDto getCategory(Long catId) {
         Category category = categoryRepo.findById(catId)
                 .orElseThrow(() -> new DataNotFoundException(String.format("Category with id %d not found.", catId)));
@@ -39,6 +48,17 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    public String getCategoryETag(Long catId) {
+        return categoryRepo.findVersionById(catId)
+                .map(version -> catId + "-" + version)
+                .orElse(null);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.CATEGORY, key = "#catId"),
+            @CacheEvict(cacheNames = CacheNames.CATEGORIES, allEntries = true)
+    })
     public void deleteCategory(Long catId) {
         categoryRepo.findById(catId)
                 .orElseThrow(() -> new DataNotFoundException(String.format("Category with id %d not found.", catId)));
@@ -50,6 +70,11 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.CATEGORY, key = "#catId"),
+            @CacheEvict(cacheNames = {CacheNames.CATEGORIES, CacheNames.COMPILATION, CacheNames.COMPILATIONS},
+                    allEntries = true)
+    })
     public CategoryDto updateCategory(Long catId, CategoryDto categoryDto) {
         Category category = categoryRepo.findById(catId)
                 .orElseThrow(() -> new DataNotFoundException(String.format("Category with id %d not found.", catId)));
@@ -59,10 +84,12 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    public List<CategoryDto> getCategories(Integer from, Integer size) {
-        Pageable page = PageRequest.of(from / size, size);
+    @Cacheable(cacheNames = CacheNames.CATEGORIES)
+    public List<CategoryDto> getCategories(Integer from, Integer size, String cursor) {
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        Pageable page = OffsetPageRequest.of(pageCursor != null ? 0 : from, size);
         log.info("Getting categories list.");
-        return mapper.toCategoryDtoList(categoryRepo.findAll(page).toList());
+        return mapper.toCategoryDtoList(categoryRepo.findAllByIdGreaterThan(pageCursor != null ? pageCursor.getId() : 0L, page));
     }
 
 
@@ -1,8 +1,11 @@
 package ru.practicum.ewm.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,10 +19,16 @@ import ru.practicum.ewm.mapper.CompilationMapper;
 import ru.practicum.ewm.model.Compilation;
 import ru.practicum.ewm.model.Event;
 import ru.practicum.ewm.service.CompilationService;
+import ru.practicum.ewm.util.CacheNames;
+import ru.practicum.ewm.util.OffsetPageRequest;
+import ru.practicum.ewm.util.PageCursor;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "ewm.service", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class CompilationServiceImpl implements CompilationService {
@@ -29,6 +38,7 @@ public class CompilationServiceImpl implements CompilationService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.COMPILATIONS, allEntries = true)
     public CompilationDto saveCompilation(NewCompilationDto newCompilationDto) {
         List<Event> events = eventRepo.findAllByIdIn(newCompilationDto.getEvents());
         Compilation compilation = new Compilation();
@@ -41,15 +51,28 @@ public class CompilationServiceImpl implements CompilationService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.COMPILATION, key = "#compId")
     public CompilationDto getCompilation(Long compId) {
-        Compilation compilation = compilationRepo.findById(compId)
+        Compilation compilation = compilationRepo.findWithEventsById(compId)
                 .orElseThrow(() -> new DataNotFoundException(String.format("Compilation with id %d not found.", compId)));
         log.info("Get compilation with id {}", compId);
         return mapper.toCompilationDto(compilation);
     }
 
+    @Override
+    public String getCompilationETag(Long compId) {
+        return compilationRepo.findVersionById(compId)
+                .map(version -> compId + "-" + version.getVersion() + "-" + version.getEventCount() + "-"
+                        + version.getEventVersions() + "-" + version.getCategoryVersions())
+                .orElse(null);
+    }
+
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.COMPILATION, key = "#compId"),
+            @CacheEvict(cacheNames = CacheNames.COMPILATIONS, allEntries = true)
+    })
     public void deleteCompilation(Long compId) {
         compilationRepo.findById(compId)
                 .orElseThrow(() -> new DataNotFoundException(String.format("Compilation with id %d not found.", compId)));
@@ -58,15 +81,24 @@ public class CompilationServiceImpl implements CompilationService {
     }
 
     @Override
-    public List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size) {
-        Pageable pageable = PageRequest.of(from / size, size);
-        List<Compilation> compilations = compilationRepo.findCompilations(pinned, pageable);
+    @Cacheable(cacheNames = CacheNames.COMPILATIONS)
+    public List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size, String cursor) {
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        Pageable pageable = OffsetPageRequest.of(pageCursor != null ? 0 : from, size);
+        List<Long> ids = compilationRepo.findCompilationIds(pinned, pageCursor != null ? pageCursor.getId() : 0L, pageable);
+        List<Compilation> compilations = ids.isEmpty() ? List.of() : compilationRepo.findAllWithEventsByIdIn(ids).stream()
+                .sorted(Comparator.comparing(Compilation::getId))
+                .collect(Collectors.toList());
         log.info("Getting compilations list.");
         return mapper.toListCompilationDto(compilations);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.COMPILATION, key = "#compId"),
+            @CacheEvict(cacheNames = CacheNames.COMPILATIONS, allEntries = true)
+    })
     public CompilationDto updateCompilation(Long compId, UpdateCompilationRequest request) {
         Compilation compilation = compilationRepo.findById(compId)
                 .orElseThrow(() -> new DataNotFoundException(String.format("Compilation with id %d not found.", compId)));
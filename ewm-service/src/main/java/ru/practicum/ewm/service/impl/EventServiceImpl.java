@@ -1,13 +1,14 @@
 package ru.practicum.ewm.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.client.StatClient;
+import ru.practicum.client.exception.StatServiceUnavailableException;
 import ru.practicum.dto.EndpointHitDto;
-import ru.practicum.dto.ViewStatsDto;
 import ru.practicum.ewm.dao.CategoryRepo;
 import ru.practicum.ewm.dao.EventRepo;
 import ru.practicum.ewm.dao.LocationRepo;
@@ -23,16 +24,22 @@ import ru.practicum.ewm.model.Event;
 import ru.practicum.ewm.model.Location;
 import ru.practicum.ewm.model.User;
 import ru.practicum.ewm.service.EventService;
-import ru.practicum.ewm.util.DateTimePattern;
+import ru.practicum.ewm.service.ViewRankingService;
+import ru.practicum.ewm.service.ViewService;
+import ru.practicum.ewm.util.CacheNames;
+import ru.practicum.ewm.util.OffsetPageRequest;
+import ru.practicum.ewm.util.PageCursor;
 import ru.practicum.ewm.util.enums.EventState;
+import ru.practicum.ewm.util.enums.SortValue;
 import ru.practicum.ewm.util.enums.StateAction;
 
 import javax.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @Service
+@Timed(value = "ewm.service", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class EventServiceImpl implements EventService {
@@ -43,7 +50,8 @@ public class EventServiceImpl implements EventService {
     private final StatClient statClient;
     private final LocationRepo locationRepo;
     private final LocationMapper locationMapper;
-    private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern(DateTimePattern.PATTERN);
+    private final ViewService viewService;
+    private final ViewRankingService viewRankingService;
 
     @Override
     public EventFullDto saveEvent(Long userId, NewEventDto newEventDto) {
@@ -82,14 +90,17 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
-    public List<EventShortDto> getEvents(Long userId, Integer from, Integer size) {
+    public List<EventShortDto> getEvents(Long userId, Integer from, Integer size, String cursor) {
         findUser(userId);
-        Pageable page = PageRequest.of(from / size, size);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        Pageable page = OffsetPageRequest.of(pageCursor != null ? 0 : from, size);
         log.info("Getting events list for user id {} pageable.", userId);
-        return mapper.toEventShortDtoList(eventRepo.findAllByInitiatorId(userId, page).toList());
+        return mapper.toEventShortDtoList(eventRepo.findAllByInitiatorIdAndIdGreaterThan(userId,
+                pageCursor != null ? pageCursor.getId() : 0L, page));
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheNames.COMPILATION, CacheNames.COMPILATIONS}, allEntries = true)
     public EventFullDto updateEventByUserId(Long userId, Long eventId, UpdateEventUserRequest updateEventUserRequest) {
         findUser(userId);
         Event event = findEvent(eventId);
@@ -143,6 +154,7 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheNames.COMPILATION, CacheNames.COMPILATIONS}, allEntries = true)
     public EventFullDto updateEventByAdmin(Long eventId, UpdateEventAdminRequest updateEvent) {
         Event event = findEvent(eventId);
 
@@ -222,7 +234,8 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public List<EventFullDto> getEventsWithParamsByAdmin(List<Long> users, List<EventState> states, List<Long> categories,
-                                                         LocalDateTime rangeStart, LocalDateTime rangeEnd, PageRequest page) {
+                                                         LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                         Integer from, Integer size, String cursor) {
         if (rangeStart == null) {
             rangeStart = LocalDateTime.now();
         }
@@ -232,7 +245,10 @@ public class EventServiceImpl implements EventService {
         if (rangeStart.isAfter(rangeEnd)) {
             throw new ValidationException("The start of the event cannot be after the end of the event");
         }
-        List<Event> events = eventRepo.findEventsWithParams(users, states, categories, rangeStart, rangeEnd, page);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        Pageable page = OffsetPageRequest.of(pageCursor != null ? 0 : from, size);
+        List<Event> events = eventRepo.findEventsWithParams(users, states, categories, rangeStart, rangeEnd,
+                pageCursor != null ? pageCursor.getId() : 0L, page);
         return mapper.toEventFullDtoList(events);
     }
 
@@ -240,7 +256,7 @@ public class EventServiceImpl implements EventService {
     public List<EventShortDto> getEventsWithParamsByUser(String text, List<Long> categories, Boolean paid,
                                                          LocalDateTime rangeStart,
                                                          LocalDateTime rangeEnd, Boolean onlyAvailable,
-                                                         String sort, Integer from, Integer size,
+                                                         String sort, Integer from, Integer size, String cursor,
                                                          HttpServletRequest request) {
         if (rangeStart != null && rangeEnd != null) {
             if (rangeStart.isAfter(rangeEnd)) {
@@ -248,12 +264,33 @@ public class EventServiceImpl implements EventService {
             }
         }
 
-        PageRequest pageRequest = PageRequest.of(from / size, size);
-        List<Event> events = eventRepo.findEventsWithParamsByUser(text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort, pageRequest);
+        SortValue sortValue = parseSort(sort);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        if (pageCursor != null && sortValue == SortValue.VIEWS) {
+            throw new ValidationException("Cursor paging is not supported for sort by views.");
+        }
 
-        createEndpointHitDto(request.getRequestURI(), request.getRemoteAddr());
+        EventSearchParams params = EventSearchParams.builder()
+                .text(text)
+                .categories(categories)
+                .paid(paid)
+                .rangeStart(rangeStart)
+                .rangeEnd(rangeEnd)
+                .onlyAvailable(onlyAvailable)
+                .sort(sortValue)
+                .afterId(pageCursor != null ? pageCursor.getId() : null)
+                .afterEventDate(pageCursor != null && sortValue == SortValue.EVENT_DATE ? parseCursorDate(pageCursor) : null)
+                .from(pageCursor != null ? 0 : from)
+                .size(size)
+                .build();
+
+        if (params.getSort() == SortValue.VIEWS) {
+            viewRankingService.ensureFresh();
+        }
+        List<Event> events = eventRepo.findPublishedEvents(params);
+        viewService.setViews(events);
 
-        events.forEach(this::setViews);
+        createEndpointHitDto(request.getRequestURI(), request.getRemoteAddr());
 
         return mapper.toEventShortDtoList(events);
     }
@@ -267,11 +304,47 @@ public class EventServiceImpl implements EventService {
 
         createEndpointHitDto(request.getRequestURI(), request.getRemoteAddr());
 
-        setViews(event);
+        viewService.setViews(List.of(event));
         log.info("Get event with id {}", eventId);
         return mapper.toEventFullDto(event);
     }
 
+    @Override
+    public String getEventETag(Long eventId) {
+        return eventRepo.findVersionById(eventId)
+                .filter(event -> event.getState() == EventState.PUBLISHED)
+                .map(event -> event.getId() + "-" + event.getVersion() + "-" + event.getCategoryVersion() + "-"
+                        + viewService.getViews(event.getId(), event.getCreatedOn()))
+                .orElse(null);
+    }
+
+    @Override
+    public void registerHit(HttpServletRequest request) {
+        createEndpointHitDto(request.getRequestURI(), request.getRemoteAddr());
+    }
+
+    private SortValue parseSort(String sort) {
+        if (sort == null) {
+            return null;
+        }
+        try {
+            return SortValue.valueOf(sort.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(String.format("Unknown sort value: %s.", sort));
+        }
+    }
+
+    private LocalDateTime parseCursorDate(PageCursor pageCursor) {
+        if (pageCursor.getKey() == null) {
+            throw new ValidationException("Invalid cursor.");
+        }
+        try {
+            return LocalDateTime.parse(pageCursor.getKey());
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor.");
+        }
+    }
+
     private User findUser(Long userId) {
         return userRepo.findById(userId)
                 .orElseThrow(() -> new DataNotFoundException(String.format("User with id %d not found.", userId)));
@@ -288,17 +361,10 @@ public class EventServiceImpl implements EventService {
         hit.setIp(ip);
         hit.setUri(uri);
         hit.setTimestamp(LocalDateTime.now());
-        statClient.createEndpointHit(hit);
-    }
-
-    private void setViews(Event event) {
-        String start = event.getCreatedOn().format(dateFormatter);
-        String end = LocalDateTime.now().format(dateFormatter);
-        List<ViewStatsDto> stats = statClient.getStats(start, end, true, List.of("/events/" + event.getId()));
-        if (stats.isEmpty()) {
-            event.setViews(0L);
-        } else {
-            event.setViews(stats.get(0).getHits());
+        try {
+            statClient.createEndpointHit(hit);
+        } catch (StatServiceUnavailableException e) {
+            log.warn("Hit for {} was not recorded: {}", uri, e.getMessage());
         }
     }
 }
@@ -1,7 +1,9 @@
 package ru.practicum.ewm.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.dao.EventRepo;
@@ -17,6 +19,7 @@ import ru.practicum.ewm.model.Event;
 import ru.practicum.ewm.model.Request;
 import ru.practicum.ewm.model.User;
 import ru.practicum.ewm.service.RequestService;
+import ru.practicum.ewm.util.CacheNames;
 import ru.practicum.ewm.util.enums.EventState;
 import ru.practicum.ewm.util.enums.RequestStatus;
 
@@ -26,6 +29,7 @@ import java.util.Collections;
 import java.util.List;
 
 @Service
+@Timed(value = "ewm.service", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class RequestServiceImpl implements RequestService {
@@ -34,7 +38,9 @@ public class RequestServiceImpl implements RequestService {
     private final UserRepo userRepo;
     private final RequestMapper mapper;
 
+    @Transactional
     @Override
+    @CacheEvict(cacheNames = {CacheNames.COMPILATION, CacheNames.COMPILATIONS}, allEntries = true)
     public RequestDto saveRequest(Long userId, Long eventId) {
         User user = userRepo.findById(userId)
                 .orElseThrow(() -> new DataNotFoundException("User not found."));
@@ -63,11 +69,10 @@ public class RequestServiceImpl implements RequestService {
         request.setEvent(event);
         request.setRequester(user);
         request.setStatus(event.getRequestModeration() && event.getParticipantLimit() != 0 ? RequestStatus.PENDING : RequestStatus.CONFIRMED);
-        final Request savedRequest = requestRepo.save(request);
-        if (savedRequest.getStatus().equals(RequestStatus.CONFIRMED)) {
-            event.setConfirmedRequests(requestRepo.countAllByEventIdAndStatus(eventId, RequestStatus.CONFIRMED));
-            eventRepo.save(event);
+        if (request.getStatus().equals(RequestStatus.CONFIRMED) && eventRepo.reserveParticipants(eventId, 1) == 0) {
+            throw new DataConflictException("Participants limit reached.");
         }
+        final Request savedRequest = requestRepo.save(request);
         log.info("Request from user with id {} for event with id {} saved.", userId, eventId);
         return mapper.toRequestDto(savedRequest);
     }
@@ -85,16 +90,22 @@ public class RequestServiceImpl implements RequestService {
         return mapper.toRequestDtoList(requestRepo.findAllByEventWithInitiator(userId, eventId));
     }
 
+    @Transactional
     @Override
+    @CacheEvict(cacheNames = {CacheNames.COMPILATION, CacheNames.COMPILATIONS}, allEntries = true)
     public RequestDto cancelRequest(Long userId, Long requestId) {
         Request request = requestRepo.findByRequesterIdAndId(userId, requestId)
                 .orElseThrow(() -> new DataNotFoundException(String.format("Request with id %d not found.", requestId)));
+        if (request.getStatus().equals(RequestStatus.CONFIRMED)) {
+            eventRepo.releaseParticipants(request.getEvent().getId(), 1);
+        }
         request.setStatus(RequestStatus.CANCELED);
         return mapper.toRequestDto(requestRepo.save(request));
     }
 
     @Transactional
     @Override
+    @CacheEvict(cacheNames = {CacheNames.COMPILATION, CacheNames.COMPILATIONS}, allEntries = true)
     public EventRequestStatusUpdateResult updateRequests(Long userId, Long eventId, EventRequestStatusUpdateRequest request) {
         Event event = eventRepo.findByIdWithAllParams(eventId)
                 .orElseThrow(() -> new DataNotFoundException(String.format("Event with id %d not found.", eventId)));
@@ -120,16 +131,14 @@ public class RequestServiceImpl implements RequestService {
                 req.setStatus(RequestStatus.REJECTED);
                 rejectedRequests.add(req);
             } else if (request.getStatus().equals(RequestStatus.CONFIRMED) && req.getStatus().equals(RequestStatus.PENDING)) {
-                if (event.getConfirmedRequests() >= event.getParticipantLimit()) {
-                    throw new DataConflictException("Participant limit has been violated.");
-                }
                 req.setStatus(RequestStatus.CONFIRMED);
                 confirmedRequests.add(req);
-                event.setConfirmedRequests(event.getConfirmedRequests() + 1);
             }
         }
 
-        eventRepo.save(event);
+        if (!confirmedRequests.isEmpty() && eventRepo.reserveParticipants(eventId, confirmedRequests.size()) == 0) {
+            throw new DataConflictException("Participant limit has been violated.");
+        }
         requestRepo.saveAll(requestsList);
 
         result.setConfirmedRequests(mapper.toRequestDtoList(confirmedRequests));
@@ -1,18 +1,21 @@
 package ru.practicum.ewm.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.ewm.dao.UserRepo;
 import ru.practicum.ewm.dto.user.UserDto;
 import ru.practicum.ewm.mapper.UserMapper;
 import ru.practicum.ewm.service.UserService;
+import ru.practicum.ewm.util.OffsetPageRequest;
+import ru.practicum.ewm.util.PageCursor;
 
 import java.util.List;
 
 @Service
+@Timed(value = "ewm.service", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceImpl implements UserService {
@@ -32,10 +35,11 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserDto> getUsers(List<Long> ids, Integer from, Integer size) {
+    public List<UserDto> getUsers(List<Long> ids, Integer from, Integer size, String cursor) {
         log.info("Getting users.");
-        Pageable page = PageRequest.of(from / size, size);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        Pageable page = OffsetPageRequest.of(pageCursor != null ? 0 : from, size);
         return ids != null ? mapper.toUserDtoList(userRepo.findAllById(ids))
-                : mapper.toUserDtoList(userRepo.findAll(page).toList());
+                : mapper.toUserDtoList(userRepo.findAllByIdGreaterThan(pageCursor != null ? pageCursor.getId() : 0L, page));
     }
 }
@@ -0,0 +1,102 @@
+package ru.practicum.ewm.service.impl;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import ru.practicum.client.StatClient;
+import ru.practicum.client.exception.StatServiceUnavailableException;
+import ru.practicum.dto.ViewStatsDto;
+import ru.practicum.ewm.dao.EventRepo;
+import ru.practicum.ewm.service.ViewRankingService;
+import ru.practicum.ewm.util.DateTimePattern;
+import ru.practicum.ewm.util.StatementCounter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@Timed(value = "ewm.service", histogram = true)
+@Slf4j
+public class ViewRankingServiceImpl implements ViewRankingService {
+    private static final Pattern EVENT_URI = Pattern.compile("^/events/(\\d+)$");
+
+    private final StatClient statClient;
+    private final EventRepo eventRepo;
+    private final long maxStalenessMs;
+    private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern(DateTimePattern.PATTERN);
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile long lastRefreshMillis;
+
+    public ViewRankingServiceImpl(StatClient statClient, EventRepo eventRepo,
+                                  @Value("${views-ranking.max-staleness-ms:300000}") long maxStalenessMs) {
+        this.statClient = statClient;
+        this.eventRepo = eventRepo;
+        this.maxStalenessMs = maxStalenessMs;
+    }
+
+    @Scheduled(fixedDelayString = "${views-ranking.refresh-interval-ms:60000}")
+    @Override
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            syncRankedViews();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Override
+    public void ensureFresh() {
+        if (!isStale()) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            if (isStale()) {
+                log.info("Ranked views are older than {} ms, refreshing before the search.", maxStalenessMs);
+                // The sync is ranking maintenance, not part of the search's statement budget.
+                StatementCounter.runUncounted(this::syncRankedViews);
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private boolean isStale() {
+        return System.currentTimeMillis() - lastRefreshMillis > maxStalenessMs;
+    }
+
+    private void syncRankedViews() {
+        Optional<LocalDateTime> start = eventRepo.findEarliestCreatedOn();
+        if (start.isEmpty()) {
+            lastRefreshMillis = System.currentTimeMillis();
+            return;
+        }
+        try {
+            List<ViewStatsDto> stats = statClient.getStats(start.get().format(dateFormatter),
+                    LocalDateTime.now().format(dateFormatter), true, List.of());
+            Map<Long, Long> views = new HashMap<>();
+            for (ViewStatsDto stat : stats) {
+                Matcher matcher = EVENT_URI.matcher(stat.getUri());
+                if (matcher.matches()) {
+                    views.merge(Long.parseLong(matcher.group(1)), stat.getHits(), Long::sum);
+                }
+            }
+            int changed = eventRepo.updateRankedViews(views);
+            lastRefreshMillis = System.currentTimeMillis();
+            log.info("Synced ranked views for {} events, {} rows changed.", views.size(), changed);
+        } catch (StatServiceUnavailableException | RestClientException e) {
+            log.warn("Failed to sync ranked views from the stat server: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.ewm.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.practicum.client.StatClient;
+import ru.practicum.client.exception.StatServiceUnavailableException;
+import ru.practicum.dto.ViewStatsDto;
+import ru.practicum.ewm.model.Event;
+import ru.practicum.ewm.service.ViewService;
+import ru.practicum.ewm.util.DateTimePattern;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = "ewm.service", histogram = true)
+@Slf4j
+public class ViewServiceImpl implements ViewService {
+    private static final String EVENT_URI_PREFIX = "/events/";
+
+    private final StatClient statClient;
+    private final AsyncCache<Long, Long> viewsCache;
+    private final Cache<Long, Long> lastKnownViews;
+    private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern(DateTimePattern.PATTERN);
+
+    public ViewServiceImpl(StatClient statClient, MeterRegistry meterRegistry,
+                           @Value("${views-cache.maximum-size:10000}") long maximumSize,
+                           @Value("${views-cache.ttl-seconds:10}") long ttlSeconds) {
+        this.statClient = statClient;
+        this.viewsCache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .executor(Runnable::run)
+                .recordStats()
+                .<Long, Long>buildAsync(), "event-views");
+        this.lastKnownViews = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public Map<Long, Long> getViews(List<Event> events) {
+        if (events.isEmpty()) {
+            return new HashMap<>();
+        }
+        return getViews(events.stream()
+                .collect(Collectors.toMap(Event::getId, Event::getCreatedOn, (left, right) -> left)));
+    }
+
+    @Override
+    public Long getViews(Long eventId, LocalDateTime createdOn) {
+        return getViews(Map.of(eventId, createdOn)).get(eventId);
+    }
+
+    @Override
+    public void setViews(List<Event> events) {
+        Map<Long, Long> views = getViews(events);
+        events.forEach(event -> event.setViews(views.get(event.getId())));
+    }
+
+    private Map<Long, Long> getViews(Map<Long, LocalDateTime> createdOnById) {
+        try {
+            return viewsCache.getAll(createdOnById.keySet(), ids -> loadViews(ids, createdOnById)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Map<Long, Long> loadViews(Iterable<? extends Long> ids, Map<Long, LocalDateTime> createdOnById) {
+        Map<Long, Long> views = new HashMap<>();
+        Map<String, Long> eventIdsByUri = new HashMap<>();
+        LocalDateTime start = LocalDateTime.now();
+        for (Long id : ids) {
+            LocalDateTime createdOn = createdOnById.get(id);
+            eventIdsByUri.put(EVENT_URI_PREFIX + id, id);
+            views.put(id, 0L);
+            if (createdOn.isBefore(start)) {
+                start = createdOn;
+            }
+        }
+
+        List<ViewStatsDto> stats;
+        try {
+            stats = statClient.getStats(start.format(dateFormatter),
+                    LocalDateTime.now().format(dateFormatter), true, new ArrayList<>(eventIdsByUri.keySet()));
+        } catch (StatServiceUnavailableException e) {
+            log.warn("Stats server is unavailable, serving last known views: {}", e.getMessage());
+            views.replaceAll((id, zero) -> Optional.ofNullable(lastKnownViews.getIfPresent(id)).orElse(zero));
+            return views;
+        }
+        for (ViewStatsDto stat : stats) {
+            Long eventId = eventIdsByUri.get(stat.getUri());
+            if (eventId != null) {
+                views.put(eventId, stat.getHits());
+            }
+        }
+        lastKnownViews.putAll(views);
+        log.debug("Loaded views for {} events with a single stats request.", views.size());
+        return views;
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.ewm.util;
+
+public final class CacheNames {
+    public static final String COMPILATION = "compilation";
+    public static final String COMPILATIONS = "compilations";
+    public static final String CATEGORY = "category";
+    public static final String CATEGORIES = "categories";
+}
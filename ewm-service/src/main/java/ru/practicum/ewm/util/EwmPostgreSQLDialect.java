@@ -0,0 +1,17 @@
+package ru.practicum.ewm.util;
+
+import org.hibernate.dialect.PostgreSQL10Dialect;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+public class EwmPostgreSQLDialect extends PostgreSQL10Dialect {
+    public static final String TEXT_RANK = "text_rank";
+
+    private static final String DOCUMENT = "lower(coalesce(?1, '') || ' ' || coalesce(?2, '') || ' ' || coalesce(?3, ''))";
+
+    public EwmPostgreSQLDialect() {
+        super();
+        registerFunction(TEXT_RANK, new SQLFunctionTemplate(StandardBasicTypes.DOUBLE,
+                "word_similarity(lower(?4), " + DOCUMENT + ")"));
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.ewm.util;
+
+import lombok.EqualsAndHashCode;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+@EqualsAndHashCode
+public class OffsetPageRequest implements Pageable {
+    private final long offset;
+    private final int size;
+    private final Sort sort;
+
+    private OffsetPageRequest(long offset, int size, Sort sort) {
+        this.offset = offset;
+        this.size = size;
+        this.sort = sort;
+    }
+
+    public static OffsetPageRequest of(long offset, int size) {
+        return of(offset, size, Sort.by("id"));
+    }
+
+    public static OffsetPageRequest of(long offset, int size, Sort sort) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative.");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be positive.");
+        }
+        return new OffsetPageRequest(offset, size, sort);
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + size, size, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(offset - size, 0), size, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, size, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * size, size, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
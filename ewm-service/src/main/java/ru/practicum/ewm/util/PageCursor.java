@@ -0,0 +1,55 @@
+package ru.practicum.ewm.util;
+
+import lombok.Getter;
+import ru.practicum.ewm.exception.ValidationException;
+
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+public class PageCursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final long id;
+    private final String key;
+
+    private PageCursor(long id, String key) {
+        this.id = id;
+        this.key = key;
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return separator < 0 ? new PageCursor(Long.parseLong(value), null)
+                    : new PageCursor(Long.parseLong(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor.");
+        }
+    }
+
+    public static String encode(long id, String key) {
+        String value = key == null ? String.valueOf(id) : id + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static <T> void writeNext(HttpServletResponse response, List<T> page, int size, Function<T, Long> id) {
+        writeNext(response, page, size, id, item -> null);
+    }
+
+    public static <T> void writeNext(HttpServletResponse response, List<T> page, int size, Function<T, Long> id,
+                                     Function<T, String> key) {
+        if (page.size() < size) {
+            return;
+        }
+        T last = page.get(page.size() - 1);
+        response.setHeader(NEXT_CURSOR_HEADER, encode(id.apply(last), key.apply(last)));
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.ewm.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class StatementCounter implements StatementInspector {
+    private static final ThreadLocal<Map<String, Integer>> STATEMENTS = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+    private static final ThreadLocal<int[]> SUSPENDED = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        if (SUSPENDED.get()[0] > 0) {
+            return sql;
+        }
+        COUNT.get()[0]++;
+        if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+            STATEMENTS.get().merge(sql, 1, Integer::sum);
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+        STATEMENTS.get().clear();
+    }
+
+    public static void runUncounted(Runnable action) {
+        SUSPENDED.get()[0]++;
+        try {
+            action.run();
+        } finally {
+            SUSPENDED.get()[0]--;
+        }
+    }
+
+    public static int getCount() {
+        return COUNT.get()[0];
+    }
+
+    public static Map.Entry<String, Integer> getMostRepeatedQuery() {
+        return STATEMENTS.get().entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
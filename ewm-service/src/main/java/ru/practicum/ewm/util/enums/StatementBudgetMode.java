@@ -0,0 +1,11 @@
+package ru.practicum.ewm.util.enums;
+
+public enum StatementBudgetMode {
+    OFF,
+    LOG,
+    /**
+     * Rejects over-budget GET, HEAD and OPTIONS requests with 500. Over-budget writes are only logged, because their
+     * transaction has already committed when the budget is checked.
+     */
+    FAIL
+}
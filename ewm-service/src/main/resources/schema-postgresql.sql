@@ -0,0 +1,5 @@
+create extension if not exists pg_trgm;
+
+create index if not exists idx_events_title_trgm on events using gin (lower(title) gin_trgm_ops);
+create index if not exists idx_events_annotation_trgm on events using gin (lower(annotation) gin_trgm_ops);
+create index if not exists idx_events_description_trgm on events using gin (lower(description) gin_trgm_ops);
@@ -18,8 +18,9 @@ create table if not exists users
 
 create table if not exists categories
 (
-    ID   bigint generated by default as identity not null,
-    NAME varchar(255)                            not null,
+    ID      bigint generated by default as identity not null,
+    NAME    varchar(255)                            not null,
+    version bigint default 0                        not null,
     constraint PK_CATEGORY primary key (ID),
     constraint UQ_CATEGORY_NAME unique (name)
 );
@@ -39,7 +40,7 @@ create table if not exists events
     ID                 bigint generated by default as identity not null,
     annotation         varchar(2000)                           not null,
     category_id        bigint                                  not null,
-    confirmed_requests bigint,
+    confirmed_requests bigint default 0                        not null,
     description        varchar(7000)                           not null,
     event_date         timestamp without time zone             not null,
     created_on         timestamp without time zone             not null,
@@ -48,6 +49,8 @@ create table if not exists events
     paid               boolean,
     participant_limit  bigint,
     published_on       timestamp without time zone,
+    ranked_views       bigint default 0                        not null,
+    version            bigint default 0                        not null,
     request_moderation boolean,
     state              varchar(120)                            not null,
     title              varchar(120)                            not null,
@@ -57,6 +60,11 @@ create table if not exists events
     constraint EVENTS_USERS_ID_FK foreign key (initiator_id) references USERS (ID) on delete cascade
 );
 
+create index if not exists idx_events_state_event_date on events (state, event_date, id);
+create index if not exists idx_events_category_event_date on events (category_id, event_date);
+create index if not exists idx_events_initiator on events (initiator_id, id);
+create index if not exists idx_events_state_ranked_views on events (state, ranked_views desc, id);
+
 
 create table if not exists requests
 (
@@ -70,12 +78,16 @@ create table if not exists requests
     constraint REQUESTS_USERS_ID_FK foreign key (requester_id) references USERS (ID) on delete cascade
 );
 
+create index if not exists idx_requests_event_status on requests (event_id, status);
+create index if not exists idx_requests_requester_event on requests (requester_id, event_id);
+
 
 create table if not exists compilations
 (
-    id     bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
-    pinned BOOLEAN                                             not null,
-    title  VARCHAR(50),
+    id      bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    pinned  BOOLEAN                                             not null,
+    title   VARCHAR(50),
+    version bigint default 0                                    not null,
     CONSTRAINT uq_compilation_title UNIQUE (title)
 );
 
@@ -0,0 +1,53 @@
+package ru.practicum.ewm;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+public class TestData {
+    private final JdbcTemplate jdbcTemplate;
+
+    public long createUser(String name, String email) {
+        return insert("INSERT INTO users (name, email) VALUES (?, ?)", name, email);
+    }
+
+    public long createCategory(String name) {
+        return insert("INSERT INTO categories (name) VALUES (?)", name);
+    }
+
+    public long createPublishedEvent(String title, long categoryId, long initiatorId, LocalDateTime eventDate,
+                                     int participantLimit) {
+        LocalDateTime now = LocalDateTime.now();
+        long locationId = insert("INSERT INTO locations (lat, lon) VALUES (?, ?)", 55.75, 37.61);
+        return insert("INSERT INTO events (annotation, category_id, description, event_date, created_on, " +
+                        "initiator_id, location_id, paid, participant_limit, published_on, request_moderation, " +
+                        "state, title) VALUES (?, ?, ?, ?, ?, ?, ?, false, ?, ?, false, 'PUBLISHED', ?)",
+                title + " annotation", categoryId, title + " description", eventDate, now, initiatorId, locationId,
+                participantLimit, now, title);
+    }
+
+    public long createCompilation(boolean pinned, String title, long... eventIds) {
+        long compilationId = insert("INSERT INTO compilations (pinned, title) VALUES (?, ?)", pinned, title);
+        for (long eventId : eventIds) {
+            jdbcTemplate.update("INSERT INTO compilations_events (compilation_id, event_id) VALUES (?, ?)",
+                    compilationId, eventId);
+        }
+        return compilationId;
+    }
+
+    private long insert(String sql, Object... args) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, new String[]{"id"});
+            new ArgumentPreparedStatementSetter(args).setValues(ps);
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+}
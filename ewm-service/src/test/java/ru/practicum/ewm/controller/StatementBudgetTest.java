@@ -0,0 +1,177 @@
+package ru.practicum.ewm.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import ru.practicum.client.StatClient;
+import ru.practicum.client.exception.StatServiceUnavailableException;
+import ru.practicum.ewm.TestData;
+import ru.practicum.ewm.config.StatementCountInterceptor;
+import ru.practicum.ewm.controller.private_controller.PrivateRequestController;
+import ru.practicum.ewm.controller.public_controller.PublicCategoryController;
+import ru.practicum.ewm.controller.public_controller.PublicCompilationController;
+import ru.practicum.ewm.controller.public_controller.PublicEventController;
+import ru.practicum.ewm.util.StatementBudget;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statementBudget;MODE=PostgreSQL",
+        "spring.cache.type=none",
+        "views-ranking.refresh-interval-ms=3600000",
+        "views-ranking.max-staleness-ms=-1",
+        "statements.budget.default=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatementBudgetTest {
+    private static final int EVENTS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private StatClient statClient;
+
+    private long requesterId;
+    private long categoryId;
+    private long compilationId;
+    private long[] eventIds;
+
+    @BeforeAll
+    void createEvents() {
+        TestData testData = new TestData(jdbcTemplate);
+        long initiatorId = testData.createUser("Initiator", "initiator@mail.ru");
+        requesterId = testData.createUser("Requester", "requester@mail.ru");
+        categoryId = testData.createCategory("Concerts");
+        eventIds = new long[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            eventIds[i] = testData.createPublishedEvent("Concert " + i, categoryId, initiatorId,
+                    LocalDateTime.now().plusDays(10 + i), 10);
+        }
+        compilationId = testData.createCompilation(true, "Weekend", eventIds);
+    }
+
+    @Test
+    void eventDetailStaysWithinBudget() throws Exception {
+        assertWithinBudget(get("/events/{id}", eventIds[0]), PublicEventController.class, "getEvent");
+    }
+
+    @Test
+    void eventSearchStaysWithinBudget() throws Exception {
+        String method = "getEventsWithParamsByUser";
+        assertWithinBudget(get("/events"), PublicEventController.class, method);
+        assertWithinBudget(get("/events").param("text", "conc").param("size", "5"), PublicEventController.class,
+                method);
+        assertWithinBudget(get("/events").param("sort", "EVENT_DATE").param("onlyAvailable", "true")
+                .param("categories", String.valueOf(categoryId)), PublicEventController.class, method);
+        assertWithinBudget(get("/events").param("sort", "VIEWS"), PublicEventController.class, method);
+    }
+
+    @Test
+    void viewSortedSearchWithStaleRankingStaysWithinBudget() throws Exception {
+        given(statClient.getStats(anyString(), anyString(), eq(true), eq(List.of())))
+                .willThrow(new StatServiceUnavailableException("Stat server is down"));
+
+        assertWithinBudget(get("/events").param("sort", "VIEWS"), PublicEventController.class,
+                "getEventsWithParamsByUser");
+        verify(statClient).getStats(anyString(), anyString(), eq(true), eq(List.of()));
+    }
+
+    @Test
+    void compilationsStayWithinBudget() throws Exception {
+        assertWithinBudget(get("/compilations").param("size", "1"), PublicCompilationController.class,
+                "getCompilations");
+        assertWithinBudget(get("/compilations").param("pinned", "true"), PublicCompilationController.class,
+                "getCompilations");
+        assertWithinBudget(get("/compilations/{compId}", compilationId), PublicCompilationController.class,
+                "getCompilation");
+    }
+
+    @Test
+    void categoriesStayWithinBudget() throws Exception {
+        assertWithinBudget(get("/categories"), PublicCategoryController.class, "getCategories");
+        assertWithinBudget(get("/categories/{catId}", categoryId), PublicCategoryController.class, "getCategory");
+    }
+
+    @Test
+    void requestCreationStaysWithinBudget() throws Exception {
+        assertWithinBudget(post("/users/{userId}/requests", requesterId).param("eventId", String.valueOf(eventIds[1])),
+                PrivateRequestController.class, "createRequest");
+    }
+
+    @Test
+    void overBudgetReadFailsInFailMode() throws Exception {
+        mockMvc.perform(get("/users/{userId}/requests", requesterId))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.reason").value("Statement budget exceeded."));
+    }
+
+    @Test
+    void overBudgetWriteIsSavedInFailMode() throws Exception {
+        MvcResult created = mockMvc.perform(post("/users/{userId}/requests", requesterId)
+                        .param("eventId", String.valueOf(eventIds[2])))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long requestId = ((Number) JsonPath.read(created.getResponse().getContentAsString(), "$.id")).longValue();
+
+        mockMvc.perform(patch("/users/{userId}/requests/{requestId}/cancel", requesterId, requestId))
+                .andExpect(status().isOk());
+        assertEquals("CANCELED", jdbcTemplate.queryForObject("SELECT status FROM requests WHERE id = ?",
+                String.class, requestId));
+    }
+
+    private void assertWithinBudget(RequestBuilder request, Class<?> controller, String methodName) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(header().exists(StatementCountInterceptor.STATEMENT_COUNT_HEADER))
+                .andReturn();
+        int statements = Integer.parseInt(result.getResponse().getHeader(StatementCountInterceptor.STATEMENT_COUNT_HEADER));
+        int budget = getBudget(controller, methodName);
+        assertTrue(statements <= budget, controller.getSimpleName() + "." + methodName + " ran " + statements
+                + " statements, budget is " + budget);
+    }
+
+    private int getBudget(Class<?> controller, String methodName) {
+        Method method = Arrays.stream(controller.getDeclaredMethods())
+                .filter(m -> m.getName().equals(methodName))
+                .findFirst()
+                .orElseThrow();
+        StatementBudget budget = AnnotatedElementUtils.findMergedAnnotation(method, StatementBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(controller, StatementBudget.class);
+        }
+        assertNotNull(budget, controller.getSimpleName() + "." + methodName + " has no statement budget");
+        return budget.value();
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.ewm.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.client.StatClient;
+import ru.practicum.ewm.TestData;
+import ru.practicum.ewm.dto.compilation.CompilationDto;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "spring.cache.type=none",
+        "views-ranking.refresh-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CompilationQueryCountTest {
+    private static final int COMPILATIONS = 30;
+    private static final int EVENTS_PER_COMPILATION = 3;
+    private static final long STATEMENTS_PER_PAGE = 2;
+
+    @Autowired
+    private CompilationService compilationService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @MockBean
+    private StatClient statClient;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    void createCompilations() {
+        TestData testData = new TestData(jdbcTemplate);
+        LocalDateTime eventDate = LocalDateTime.now().plusDays(10);
+        for (int i = 0; i < COMPILATIONS; i++) {
+            long[] eventIds = new long[EVENTS_PER_COMPILATION];
+            for (int j = 0; j < EVENTS_PER_COMPILATION; j++) {
+                String suffix = i + "-" + j;
+                long userId = testData.createUser("User " + suffix, "user" + suffix + "@mail.ru");
+                long categoryId = testData.createCategory("Category " + suffix);
+                eventIds[j] = testData.createPublishedEvent("Event " + suffix, categoryId, userId, eventDate, 0);
+            }
+            testData.createCompilation(i % 2 == 0, "Compilation " + i, eventIds);
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @BeforeEach
+    void clearStatistics() {
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 10, COMPILATIONS})
+    void compilationPageRunsFixedStatementCountWhateverThePageSize(int size) {
+        List<CompilationDto> page = getCompilations(null, size);
+
+        assertEquals(size, page.size());
+        assertEquals(size * EVENTS_PER_COMPILATION, page.stream().mapToInt(c -> c.getEvents().size()).sum());
+        assertEquals(STATEMENTS_PER_PAGE, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void pinnedCompilationPageRunsFixedStatementCount() {
+        List<CompilationDto> page = getCompilations(true, COMPILATIONS);
+
+        assertEquals(COMPILATIONS / 2, page.size());
+        assertEquals(STATEMENTS_PER_PAGE, statistics.getPrepareStatementCount());
+    }
+
+    private List<CompilationDto> getCompilations(Boolean pinned, int size) {
+        return transactionTemplate.execute(status -> compilationService.getCompilations(pinned, 0, size, null));
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.loadtest;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Getter
+public class DataSeeder {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String[] TOPICS = {"concert", "exhibition", "lecture", "festival", "workshop", "meetup",
+            "tour", "screening", "tasting", "marathon"};
+
+    private final EwmApiClient api;
+    private final LoadSettings settings;
+    private final Random random = new Random(42);
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> categoryIds = new ArrayList<>();
+    private final List<Long> eventIds = new ArrayList<>();
+    private final List<Long> initiatorIds = new ArrayList<>();
+
+    public DataSeeder(EwmApiClient api, LoadSettings settings) {
+        this.api = api;
+        this.settings = settings;
+    }
+
+    public void seed() {
+        for (int i = 0; i < settings.getUsers(); i++) {
+            userIds.add(create("/admin/users", Map.of("name", "User " + i, "email", "user" + i + "@example.com")));
+        }
+        for (int i = 0; i < settings.getCategories(); i++) {
+            categoryIds.add(create("/admin/categories", Map.of("name", "Category " + i)));
+        }
+        for (int i = 0; i < settings.getEvents(); i++) {
+            long initiatorId = userIds.get(i % userIds.size());
+            String topic = TOPICS[i % TOPICS.length];
+            long eventId = create("/users/" + initiatorId + "/events", Map.of(
+                    "annotation", "Annotation of the " + topic + " number " + i + " in the city centre",
+                    "category", categoryIds.get(random.nextInt(categoryIds.size())),
+                    "description", "Description of the " + topic + " number " + i + ", with a programme, "
+                            + "a venue and everything a visitor needs to know before registering.",
+                    "eventDate", FORMATTER.format(LocalDateTime.now().plusDays(1 + random.nextInt(180))),
+                    "location", Map.of("lat", 55.75 + random.nextDouble(), "lon", 37.62 + random.nextDouble()),
+                    "paid", random.nextBoolean(),
+                    "participantLimit", random.nextInt(4) == 0 ? 0 : 5 + random.nextInt(50),
+                    "requestModeration", false,
+                    "title", "The " + topic + " " + i));
+            api.patch("/admin/events/" + eventId, Map.of("stateAction", "PUBLISH_EVENT"));
+            eventIds.add(eventId);
+            initiatorIds.add(initiatorId);
+        }
+        int registrations = 0;
+        for (int i = 0; i < eventIds.size(); i++) {
+            for (int j = 0; j < settings.getRequestsPerEvent(); j++) {
+                if (register(randomRequester(i), eventIds.get(i)).isSuccessful()) {
+                    registrations++;
+                }
+            }
+        }
+        log.info("Seeded {} users, {} categories, {} published events and {} participation requests.",
+                userIds.size(), categoryIds.size(), eventIds.size(), registrations);
+    }
+
+    public EwmApiClient.Response register(long userId, long eventId) {
+        return api.post("/users/" + userId + "/requests?eventId=" + eventId, null);
+    }
+
+    public long randomRequester(int eventIndex) {
+        long userId;
+        do {
+            userId = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+        } while (userId == initiatorIds.get(eventIndex));
+        return userId;
+    }
+
+    private long create(String path, Object body) {
+        EwmApiClient.Response response = api.post(path, body);
+        if (!response.isSuccessful()) {
+            throw new IllegalStateException("POST " + path + " failed with status " + response.getStatus() + ": "
+                    + new String(response.getBody()));
+        }
+        return response.json().get("id").asLong();
+    }
+}
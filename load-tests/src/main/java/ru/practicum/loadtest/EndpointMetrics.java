@@ -0,0 +1,67 @@
+package ru.practicum.loadtest;
+
+import java.util.Arrays;
+
+public class EndpointMetrics {
+    private long[] latencies = new long[1024];
+    private int count;
+    private int success;
+    private int clientErrors;
+    private int serverErrors;
+    private double statementsPerRequest = Double.NaN;
+
+    public synchronized void record(long latencyNanos, int status) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (status >= 500 || status == 0) {
+            serverErrors++;
+        } else if (status >= 400) {
+            clientErrors++;
+        } else {
+            success++;
+        }
+    }
+
+    public synchronized void reset() {
+        count = 0;
+        success = 0;
+        clientErrors = 0;
+        serverErrors = 0;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized int getSuccess() {
+        return success;
+    }
+
+    public synchronized int getClientErrors() {
+        return clientErrors;
+    }
+
+    public synchronized int getServerErrors() {
+        return serverErrors;
+    }
+
+    public double getStatementsPerRequest() {
+        return statementsPerRequest;
+    }
+
+    public void setStatementsPerRequest(double statementsPerRequest) {
+        this.statementsPerRequest = statementsPerRequest;
+    }
+
+    public synchronized double percentileMillis(double percentile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+}
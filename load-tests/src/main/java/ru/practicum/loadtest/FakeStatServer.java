@@ -0,0 +1,135 @@
+package ru.practicum.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.dto.EndpointHitDto;
+import ru.practicum.dto.ViewStatsDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class FakeStatServer implements AutoCloseable {
+    private static final TypeReference<List<EndpointHitDto>> HIT_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final int latencyMs;
+    private final int jitterMs;
+    private final Map<String, Set<String>> visitorsByUri = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> hitsByUri = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final HttpServer server;
+
+    public FakeStatServer(ObjectMapper objectMapper, int latencyMs, int jitterMs) throws IOException {
+        this.objectMapper = objectMapper;
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/hit", exchange -> handle(exchange, () -> {
+            saveHit(objectMapper.readValue(exchange.getRequestBody(), EndpointHitDto.class));
+            return 201;
+        }));
+        server.createContext("/hits", exchange -> handle(exchange, () -> {
+            objectMapper.readValue(exchange.getRequestBody(), HIT_LIST).forEach(this::saveHit);
+            return 201;
+        }));
+        server.createContext("/stats", exchange -> handle(exchange, () -> {
+            byte[] body = objectMapper.writeValueAsBytes(getStats(exchange.getRequestURI().getRawQuery()));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            return 0;
+        }));
+        server.setExecutor(executor);
+        server.start();
+        log.info("Fake stats server listens on port {} with {}+{} ms latency.", getPort(), latencyMs, jitterMs);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void saveHit(EndpointHitDto hit) {
+        hitsByUri.computeIfAbsent(hit.getUri(), uri -> new AtomicLong()).incrementAndGet();
+        visitorsByUri.computeIfAbsent(hit.getUri(), uri -> ConcurrentHashMap.newKeySet()).add(hit.getIp());
+    }
+
+    private List<ViewStatsDto> getStats(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                int separator = pair.indexOf('=');
+                if (separator > 0) {
+                    params.put(pair.substring(0, separator),
+                            URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        boolean unique = Boolean.parseBoolean(params.get("unique"));
+        String uris = params.getOrDefault("uris", "");
+        Collection<String> requested = uris.isEmpty() ? hitsByUri.keySet() : Arrays.asList(uris.split(","));
+
+        List<ViewStatsDto> stats = new ArrayList<>();
+        for (String uri : requested) {
+            long hits = unique ? visitorsByUri.getOrDefault(uri, Set.of()).size()
+                    : hitsByUri.getOrDefault(uri, new AtomicLong()).get();
+            if (hits > 0) {
+                stats.add(new ViewStatsDto("ewm-main-service", uri, hits));
+            }
+        }
+        stats.sort(Comparator.comparingLong(ViewStatsDto::getHits).reversed());
+        return stats;
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        try {
+            sleep();
+            int status = handler.handle();
+            if (status > 0) {
+                exchange.sendResponseHeaders(status, -1);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Fake stats server failed to handle {}: {}", exchange.getRequestURI(), e.getMessage());
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void sleep() {
+        int delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextInt(jitterMs + 1) : 0);
+        if (delay == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface Handler {
+        int handle() throws IOException;
+    }
+}
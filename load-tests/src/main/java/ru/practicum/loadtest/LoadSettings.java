@@ -0,0 +1,18 @@
+package ru.practicum.loadtest;
+
+import lombok.Getter;
+
+@Getter
+public class LoadSettings {
+    private final int users = Integer.getInteger("load.users", 50);
+    private final int categories = Integer.getInteger("load.categories", 5);
+    private final int events = Integer.getInteger("load.events", 200);
+    private final int requestsPerEvent = Integer.getInteger("load.requests-per-event", 3);
+    private final int threads = Integer.getInteger("load.threads", 16);
+    private final int warmupSeconds = Integer.getInteger("load.warmup-seconds", 10);
+    private final int durationSeconds = Integer.getInteger("load.duration-seconds", 30);
+    private final int profileRequests = Integer.getInteger("load.profile-requests", 50);
+    private final int statsLatencyMs = Integer.getInteger("load.stats-latency-ms", 5);
+    private final int statsJitterMs = Integer.getInteger("load.stats-jitter-ms", 5);
+    private final String report = System.getProperty("load.report", "load-report.txt");
+}
@@ -0,0 +1,201 @@
+package ru.practicum.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.ewm.EwmMainApp;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class LoadTestApp {
+    private static final String[] SEARCH_TEXTS = {"concert", "exhibition", "lecture", "festival", "centre"};
+    private static final String[] SORTS = {"EVENT_DATE", "VIEWS"};
+    private static final int HOT_EVENTS = 10;
+
+    private final LoadSettings settings;
+    private final EwmApiClient api;
+    private final DataSeeder seeder;
+    private final Statistics statistics;
+    private final Map<Scenario, EndpointMetrics> metrics = new EnumMap<>(Scenario.class);
+
+    public LoadTestApp(LoadSettings settings, EwmApiClient api, Statistics statistics) {
+        this.settings = settings;
+        this.api = api;
+        this.seeder = new DataSeeder(api, settings);
+        this.statistics = statistics;
+        for (Scenario scenario : Scenario.values()) {
+            metrics.put(scenario, new EndpointMetrics());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = new LoadSettings();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        try (FakeStatServer statServer = new FakeStatServer(objectMapper, settings.getStatsLatencyMs(),
+                settings.getStatsJitterMs());
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(EwmMainApp.class)
+                     .profiles("ci")
+                     .run(applicationArgs(statServer.getPort(), args))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Statistics statistics = context.getBean(EntityManagerFactory.class)
+                    .unwrap(SessionFactory.class).getStatistics();
+            new LoadTestApp(settings, new EwmApiClient(objectMapper, port), statistics).run();
+        }
+    }
+
+    private static String[] applicationArgs(int statServerPort, String[] args) {
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--stats-server.url=http://localhost:" + statServerPort,
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--logging.level.root=WARN",
+                "--logging.level.ru.practicum.loadtest=INFO"));
+        applicationArgs.addAll(List.of(args));
+        return applicationArgs.toArray(new String[0]);
+    }
+
+    public void run() throws InterruptedException {
+        seeder.seed();
+
+        log.info("Warming up for {} s with {} threads.", settings.getWarmupSeconds(), settings.getThreads());
+        drive(settings.getWarmupSeconds());
+
+        for (Scenario scenario : Scenario.values()) {
+            metrics.get(scenario).setStatementsPerRequest(profileStatements(scenario));
+        }
+        metrics.values().forEach(EndpointMetrics::reset);
+
+        log.info("Measuring for {} s with {} threads.", settings.getDurationSeconds(), settings.getThreads());
+        statistics.clear();
+        long started = System.nanoTime();
+        drive(settings.getDurationSeconds());
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        String report = report(elapsedSeconds);
+        System.out.println(report);
+        try {
+            Files.writeString(Path.of(settings.getReport()), report, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Report written to {}.", settings.getReport());
+    }
+
+    private void drive(int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService workers = Executors.newFixedThreadPool(settings.getThreads());
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < settings.getThreads(); i++) {
+            futures.add(workers.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Scenario scenario = Scenario.pick(random.nextInt(Scenario.totalWeight()));
+                    long start = System.nanoTime();
+                    int status = execute(scenario, random);
+                    metrics.get(scenario).record(System.nanoTime() - start, status);
+                }
+            }));
+        }
+        workers.shutdown();
+        workers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        for (Future<?> future : futures) {
+            if (!future.isDone()) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private double profileStatements(Scenario scenario) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        statistics.clear();
+        for (int i = 0; i < settings.getProfileRequests(); i++) {
+            execute(scenario, random);
+        }
+        return (double) statistics.getPrepareStatementCount() / settings.getProfileRequests();
+    }
+
+    private int execute(Scenario scenario, ThreadLocalRandom random) {
+        try {
+            switch (scenario) {
+                case EVENT_DETAIL:
+                    List<Long> eventIds = seeder.getEventIds();
+                    return api.get("/events/" + eventIds.get(random.nextInt(eventIds.size()))).getStatus();
+                case REGISTRATION_BURST:
+                    int eventIndex = random.nextInt(Math.min(HOT_EVENTS, seeder.getEventIds().size()));
+                    return seeder.register(seeder.randomRequester(eventIndex),
+                            seeder.getEventIds().get(eventIndex)).getStatus();
+                default:
+                    return api.get(searchPath(random)).getStatus();
+            }
+        } catch (RuntimeException e) {
+            log.debug("{} failed: {}", scenario.getEndpoint(), e.getMessage());
+            return 0;
+        }
+    }
+
+    private String searchPath(ThreadLocalRandom random) {
+        StringBuilder path = new StringBuilder("/events?from=0&size=10");
+        if (random.nextBoolean()) {
+            path.append("&text=").append(SEARCH_TEXTS[random.nextInt(SEARCH_TEXTS.length)]);
+        }
+        if (random.nextBoolean()) {
+            List<Long> categoryIds = seeder.getCategoryIds();
+            path.append("&categories=").append(categoryIds.get(random.nextInt(categoryIds.size())));
+        }
+        if (random.nextInt(4) == 0) {
+            path.append("&onlyAvailable=true");
+        }
+        path.append("&sort=").append(SORTS[random.nextInt(SORTS.length)]);
+        return path.toString();
+    }
+
+    private String report(double elapsedSeconds) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%nLoad test: %d threads, %.1f s, stats latency %d+%d ms%n%n",
+                settings.getThreads(), elapsedSeconds, settings.getStatsLatencyMs(), settings.getStatsJitterMs()));
+        report.append(String.format(Locale.ROOT, "%-28s %9s %9s %7s %7s %7s %9s %9s %9s %9s %10s%n",
+                "endpoint", "requests", "req/s", "2xx", "4xx", "5xx", "p50 ms", "p90 ms", "p99 ms", "max ms",
+                "stmts/req"));
+        int total = 0;
+        for (Scenario scenario : Scenario.values()) {
+            EndpointMetrics endpoint = metrics.get(scenario);
+            total += endpoint.getCount();
+            report.append(String.format(Locale.ROOT, "%-28s %9d %9.1f %7d %7d %7d %9.2f %9.2f %9.2f %9.2f %10.2f%n",
+                    scenario.getEndpoint(), endpoint.getCount(), endpoint.getCount() / elapsedSeconds,
+                    endpoint.getSuccess(), endpoint.getClientErrors(), endpoint.getServerErrors(),
+                    endpoint.percentileMillis(50), endpoint.percentileMillis(90), endpoint.percentileMillis(99),
+                    endpoint.percentileMillis(100), endpoint.getStatementsPerRequest()));
+        }
+        report.append(String.format(Locale.ROOT, "%-28s %9d %9.1f%n%n", "total", total, total / elapsedSeconds));
+        report.append(String.format(Locale.ROOT,
+                "Hibernate: %d statements (%.2f per request), %d queries, %d entity loads, %d collection fetches, "
+                        + "%d transactions, %d optimistic failures%n",
+                statistics.getPrepareStatementCount(),
+                total > 0 ? (double) statistics.getPrepareStatementCount() / total : 0.0,
+                statistics.getQueryExecutionCount(), statistics.getEntityLoadCount(),
+                statistics.getCollectionFetchCount(), statistics.getTransactionCount(),
+                statistics.getOptimisticFailureCount()));
+        return report.toString();
+    }
+}
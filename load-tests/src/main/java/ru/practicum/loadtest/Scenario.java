@@ -0,0 +1,34 @@
+package ru.practicum.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum Scenario {
+    PUBLIC_SEARCH("GET /events", 50),
+    EVENT_DETAIL("GET /events/{id}", 35),
+    REGISTRATION_BURST("POST /users/{id}/requests", 15);
+
+    private final String endpoint;
+    private final int weight;
+
+    public static Scenario pick(int roll) {
+        int bound = 0;
+        for (Scenario scenario : values()) {
+            bound += scenario.weight;
+            if (roll < bound) {
+                return scenario;
+            }
+        }
+        return PUBLIC_SEARCH;
+    }
+
+    public static int totalWeight() {
+        int total = 0;
+        for (Scenario scenario : values()) {
+            total += scenario.weight;
+        }
+        return total;
+    }
+}
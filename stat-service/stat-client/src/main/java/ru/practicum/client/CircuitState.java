@@ -0,0 +1,7 @@
+package ru.practicum.client;
+
+public enum CircuitState {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+}
@@ -0,0 +1,159 @@
+package ru.practicum.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.dto.EndpointHitDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Slf4j
+public class HitBuffer implements AutoCloseable {
+    private final BlockingQueue<EndpointHitDto> queue;
+    private final Consumer<List<EndpointHitDto>> sender;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long blockTimeoutMs;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+
+    public HitBuffer(Consumer<List<EndpointHitDto>> sender, OverflowPolicy overflowPolicy, int capacity,
+                     int batchSize, long flushIntervalMs, long blockTimeoutMs, MeterRegistry registry) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sender = sender;
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.blockTimeoutMs = blockTimeoutMs;
+
+        registry.gauge("stats.client.hits.queue.depth", queue, BlockingQueue::size);
+        sentCounter = registry.counter("stats.client.hits.sent");
+        failedCounter = registry.counter("stats.client.hits.failed");
+        droppedCounter = registry.counter("stats.client.hits.dropped", "policy", overflowPolicy.name());
+        batchSizeSummary = DistributionSummary.builder("stats.client.hits.batch.size")
+                .publishPercentileHistogram()
+                .register(registry);
+        flushTimer = Timer.builder("stats.client.hits.flush.latency")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        flusher = new Thread(this::flushLoop, "stat-client-hit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public void add(EndpointHitDto hit) {
+        if (!running) {
+            droppedCounter.increment();
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                while (!queue.offer(hit)) {
+                    if (queue.poll() != null) {
+                        droppedCounter.increment();
+                    }
+                }
+                break;
+            case BLOCK:
+                try {
+                    if (!queue.offer(hit, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        droppedCounter.increment();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedCounter.increment();
+                }
+                break;
+            default:
+                if (!queue.offer(hit)) {
+                    droppedCounter.increment();
+                }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(flushIntervalMs * 2 + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<EndpointHitDto> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            send(rest);
+        }
+    }
+
+    private void flushLoop() {
+        List<EndpointHitDto> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                if (running) {
+                    continue;
+                }
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private void fillBatch(List<EndpointHitDto> batch) throws InterruptedException {
+        EndpointHitDto first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            EndpointHitDto next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void send(List<EndpointHitDto> batch) {
+        batchSizeSummary.record(batch.size());
+        Timer.Sample sample = Timer.start();
+        try {
+            sender.accept(batch);
+            sentCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            failedCounter.increment(batch.size());
+            log.warn("Failed to send {} hits to stats server: {}", batch.size(), e.getMessage());
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+}
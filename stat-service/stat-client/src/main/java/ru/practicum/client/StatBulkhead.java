@@ -0,0 +1,41 @@
+package ru.practicum.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class StatBulkhead {
+    private final Semaphore permits;
+    private final long maxWaitMs;
+    private final Counter rejectedCounter;
+
+    public StatBulkhead(@Value("${stats-server.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+                        @Value("${stats-server.bulkhead.max-wait-ms:50}") long maxWaitMs,
+                        MeterRegistry registry) {
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.maxWaitMs = maxWaitMs;
+        registry.gauge("stats.client.bulkhead.available", permits, Semaphore::availablePermits);
+        rejectedCounter = registry.counter("stats.client.bulkhead.rejected");
+    }
+
+    public boolean tryAcquire() {
+        try {
+            if (permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
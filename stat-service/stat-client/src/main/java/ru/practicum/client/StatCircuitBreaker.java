@@ -0,0 +1,61 @@
+package ru.practicum.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+@Slf4j
+public class StatCircuitBreaker {
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final AtomicReference<CircuitState> state = new AtomicReference<>(CircuitState.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final Counter rejectedCounter;
+    private volatile long openedAt;
+
+    public StatCircuitBreaker(@Value("${stats-server.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                              @Value("${stats-server.circuit-breaker.open-duration-ms:10000}") long openDurationMs,
+                              MeterRegistry registry) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        registry.gauge("stats.client.circuit.state", state, current -> current.get().ordinal());
+        rejectedCounter = registry.counter("stats.client.circuit.rejected");
+    }
+
+    public boolean tryAcquirePermission() {
+        CircuitState current = state.get();
+        if (current == CircuitState.CLOSED) {
+            return true;
+        }
+        if (current == CircuitState.OPEN && System.currentTimeMillis() - openedAt >= openDurationMs
+                && state.compareAndSet(CircuitState.OPEN, CircuitState.HALF_OPEN)) {
+            log.info("Stats server circuit is half-open, letting a trial call through.");
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(CircuitState.CLOSED) != CircuitState.CLOSED) {
+            log.info("Stats server circuit is closed again.");
+        }
+    }
+
+    public void onFailure() {
+        if (state.get() == CircuitState.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.currentTimeMillis();
+            consecutiveFailures.set(0);
+            if (state.getAndSet(CircuitState.OPEN) != CircuitState.OPEN) {
+                log.warn("Stats server circuit is open for {} ms.", openDurationMs);
+            }
+        }
+    }
+}
@@ -1,5 +1,13 @@
 package ru.practicum.client;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -10,30 +18,81 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.client.exception.StatServiceUnavailableException;
 import ru.practicum.dto.EndpointHitDto;
 import ru.practicum.dto.ViewStatsDto;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Component
-public class StatClient {
+@Slf4j
+public class StatClient implements DisposableBean {
 
     private final RestTemplate rest;
+    private final CloseableHttpClient httpClient;
+    private final StatCircuitBreaker circuitBreaker;
+    private final StatBulkhead bulkhead;
+    private final HitBuffer hitBuffer;
+    private final MeterRegistry meterRegistry;
+    private final MediaType mediaType;
 
     @Autowired
-    public StatClient(@Value("${stats-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public StatClient(@Value("${stats-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      @Value("${stats-server.ingest.async:false}") boolean async,
+                      @Value("${stats-server.ingest.queue-capacity:10000}") int queueCapacity,
+                      @Value("${stats-server.ingest.batch-size:500}") int batchSize,
+                      @Value("${stats-server.ingest.flush-interval-ms:200}") long flushIntervalMs,
+                      @Value("${stats-server.ingest.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy,
+                      @Value("${stats-server.ingest.block-timeout-ms:50}") long blockTimeoutMs,
+                      @Value("${stats-server.http.max-connections:50}") int maxConnections,
+                      @Value("${stats-server.http.connect-timeout-ms:500}") int connectTimeoutMs,
+                      @Value("${stats-server.http.read-timeout-ms:2000}") int readTimeoutMs,
+                      @Value("${stats-server.http.pool-timeout-ms:200}") int poolTimeoutMs,
+                      @Value("${stats-server.wire-format:JSON}") WireFormat wireFormat,
+                      StatCircuitBreaker circuitBreaker, StatBulkhead bulkhead, MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(connectTimeoutMs)
+                        .setSocketTimeout(readTimeoutMs)
+                        .setConnectionRequestTimeout(poolTimeoutMs)
+                        .build())
+                .evictIdleConnections(30, TimeUnit.SECONDS)
+                .build();
         rest = builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
                 .build();
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.meterRegistry = meterRegistry;
+        this.mediaType = wireFormat.getMediaType();
+        if (async) {
+            hitBuffer = new HitBuffer(this::sendHits, overflowPolicy, queueCapacity, batchSize, flushIntervalMs,
+                    blockTimeoutMs, meterRegistry);
+            log.info("Stats hits are sent asynchronously in batches of up to {} hits.", batchSize);
+        } else {
+            hitBuffer = null;
+        }
     }
 
     public void createEndpointHit(EndpointHitDto dto) {
-        HttpEntity<EndpointHitDto> entity = new HttpEntity<>(dto, headers());
-        rest.exchange("/hit", HttpMethod.POST, entity, Object.class).getStatusCodeValue();
+        if (hitBuffer != null) {
+            hitBuffer.add(dto);
+            return;
+        }
+        postHit(dto);
     }
 
     public List<ViewStatsDto> getStats(String start, String end, Boolean unique, List<String> uris) {
@@ -44,16 +103,75 @@ public class StatClient {
                 "uris", String.join(",", uris)
         );
 
-        return rest.exchange("/stats?start={start}&end={end}&unique={unique}&uris={uris}",
+        return execute("getStats", () -> rest.exchange("/stats?start={start}&end={end}&unique={unique}&uris={uris}",
                 HttpMethod.GET, new HttpEntity<>(headers()), new ParameterizedTypeReference<List<ViewStatsDto>>() {
                 },
-                parameters).getBody();
+                parameters).getBody());
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (hitBuffer != null) {
+            hitBuffer.close();
+        }
+        httpClient.close();
+    }
+
+    private void sendHits(List<EndpointHitDto> hits) {
+        HttpEntity<List<EndpointHitDto>> entity = new HttpEntity<>(hits, headers());
+        execute("sendHits", () -> rest.exchange("/hits", HttpMethod.POST, entity, Void.class));
+    }
+
+    private void postHit(EndpointHitDto dto) {
+        HttpEntity<EndpointHitDto> entity = new HttpEntity<>(dto, headers());
+        execute("postHit", () -> rest.exchange("/hit", HttpMethod.POST, entity, Object.class));
+    }
+
+    private <T> T execute(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "REJECTED";
+        try {
+            if (!bulkhead.tryAcquire()) {
+                throw new StatServiceUnavailableException("Too many concurrent calls to the stats server.");
+            }
+            try {
+                if (!circuitBreaker.tryAcquirePermission()) {
+                    throw new StatServiceUnavailableException("Stats server circuit is open.");
+                }
+                try {
+                    T result = call.get();
+                    circuitBreaker.onSuccess();
+                    outcome = "SUCCESS";
+                    return result;
+                } catch (HttpClientErrorException e) {
+                    circuitBreaker.onSuccess();
+                    outcome = "CLIENT_ERROR";
+                    throw e;
+                } catch (RestClientException e) {
+                    circuitBreaker.onFailure();
+                    outcome = "UNAVAILABLE";
+                    throw new StatServiceUnavailableException("Stats server call failed: " + e.getMessage(), e);
+                } catch (RuntimeException e) {
+                    circuitBreaker.onFailure();
+                    outcome = "ERROR";
+                    throw e;
+                }
+            } finally {
+                bulkhead.release();
+            }
+        } finally {
+            sample.stop(Timer.builder("stats.client.requests")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
     }
 
     private HttpHeaders headers() {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setContentType(mediaType);
+        headers.setAccept(List.of(mediaType));
         return headers;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package ru.practicum.client;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private final MediaType mediaType;
+}
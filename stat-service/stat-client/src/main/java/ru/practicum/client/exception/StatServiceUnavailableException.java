@@ -0,0 +1,11 @@
+package ru.practicum.client.exception;
+
+public class StatServiceUnavailableException extends RuntimeException {
+    public StatServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public StatServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            log.info("Serving requests on virtual threads.");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("virtual-threads.enabled requires Java 21 or newer, running on "
+                    + Runtime.version(), e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+}
@@ -4,9 +4,14 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.config.VirtualThreadConfig;
 
 @SpringBootApplication
+@EnableScheduling
+@Import(VirtualThreadConfig.class)
 public class StatApp {
     public static void main(String[] args) {
         SpringApplication.run(StatApp.class, args);
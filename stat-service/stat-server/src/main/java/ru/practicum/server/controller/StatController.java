@@ -1,16 +1,29 @@
 package ru.practicum.server.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.dto.EndpointHitDto;
 import ru.practicum.dto.ViewStatsDto;
+import ru.practicum.server.exception.MalformedHitStreamException;
 import ru.practicum.server.exception.StartAfterEndException;
 import ru.practicum.server.service.StatService;
 import ru.practicum.server.util.DateTimePattern;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,7 +33,13 @@ import java.util.List;
 @Slf4j
 public class StatController {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final StatService service;
+    private final ObjectMapper objectMapper;
+
+    @Value("${stats.ingest.chunk-size:5000}")
+    private int chunkSize;
 
     @PostMapping("/hit")
     @ResponseStatus(HttpStatus.CREATED)
@@ -29,6 +48,55 @@ public class StatController {
         return service.createEndpointHitDto(dto);
     }
 
+    @PostMapping(value = "/hits", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @ResponseStatus(HttpStatus.CREATED)
+    public void saveHits(@RequestBody List<EndpointHitDto> dtos) {
+        log.info("POST request to create {} hits", dtos.size());
+        service.createEndpointHits(dtos);
+    }
+
+    @PostMapping(value = "/hits", consumes = APPLICATION_NDJSON)
+    @ResponseStatus(HttpStatus.CREATED)
+    public void saveHitsStream(InputStream body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<EndpointHitDto> chunk = new ArrayList<>(chunkSize);
+        long total = 0;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parseHit(line, lineNumber, total));
+            if (chunk.size() == chunkSize) {
+                service.createEndpointHits(chunk);
+                total += chunk.size();
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            service.createEndpointHits(chunk);
+            total += chunk.size();
+        }
+        log.info("POST request to create hits from NDJSON stream, {} hits saved", total);
+    }
+
+    private EndpointHitDto parseHit(String line, long lineNumber, long accepted) {
+        EndpointHitDto dto;
+        try {
+            dto = objectMapper.readValue(line, EndpointHitDto.class);
+        } catch (JsonProcessingException e) {
+            throw new MalformedHitStreamException("Malformed hit at line " + lineNumber + ", " + accepted
+                    + " hits before it were saved.", accepted);
+        }
+        if (dto.getApp() == null || dto.getUri() == null || dto.getIp() == null || dto.getTimestamp() == null) {
+            throw new MalformedHitStreamException("Incomplete hit at line " + lineNumber + ", " + accepted
+                    + " hits before it were saved.", accepted);
+        }
+        return dto;
+    }
+
     @GetMapping("/stats")
     public List<ViewStatsDto> getStats(@RequestParam(defaultValue = "false") boolean unique,
                                        @RequestParam(name = "start") @DateTimeFormat(pattern = DateTimePattern.PATTERN)
@@ -45,4 +113,30 @@ public class StatController {
 
         return service.getStats(unique, start, end, urisList);
     }
+
+    @GetMapping(value = "/stats", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamStats(
+            @RequestParam(defaultValue = "false") boolean unique,
+            @RequestParam(name = "start") @DateTimeFormat(pattern = DateTimePattern.PATTERN) LocalDateTime start,
+            @RequestParam(name = "end") @DateTimeFormat(pattern = DateTimePattern.PATTERN) LocalDateTime end,
+            @RequestParam(required = false) List<String> uris) {
+        if (start.isAfter(end)) {
+            throw new StartAfterEndException("Start time can't be after end time");
+        }
+        List<String> urisList = uris != null ? uris : new ArrayList<>();
+        log.info("GET request to stream stats with unique={}, start={}, end={}, uris={}", unique,
+                start.toString(), end.toString(), uris);
+
+        StreamingResponseBody body = out -> service.streamStats(unique, start, end, urisList, stat -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(stat));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+                .body(body);
+    }
 }
@@ -0,0 +1,72 @@
+package ru.practicum.server.dao;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.server.model.Watermark;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Repository
+@Timed(value = "stats.repository", histogram = true)
+@RequiredArgsConstructor
+public class PartitionRepo {
+    private static final String HITS_PARTITION_PREFIX = "hits_";
+    private static final String HITS_DEFAULT_PARTITION = "hits_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<String> findHitPartitions() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'hits'::regclass AND c.relname <> ?", String.class, HITS_DEFAULT_PARTITION);
+    }
+
+    public List<LocalDate> findDaysInDefaultPartition() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT CAST(timestamp AS date) FROM " + HITS_DEFAULT_PARTITION,
+                Date.class).stream().map(Date::toLocalDate).collect(Collectors.toList());
+    }
+
+    public void createHitPartition(LocalDate day) {
+        String partition = partitionName(day);
+        Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE hits INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        jdbcTemplate.update("WITH moved AS (DELETE FROM " + HITS_DEFAULT_PARTITION +
+                " WHERE timestamp >= ? AND timestamp < ? RETURNING *) " +
+                "INSERT INTO " + partition + " SELECT * FROM moved", from, to);
+        jdbcTemplate.execute("ALTER TABLE hits ATTACH PARTITION " + partition +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    public boolean hasHitsAfter(String partition, Watermark watermark) {
+        Timestamp receivedAt = Timestamp.valueOf(watermark.getReceivedAt());
+        Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + partition +
+                        " WHERE received_at > ? OR (received_at = ? AND id > ?))", Boolean.class,
+                receivedAt, receivedAt, watermark.getHitId());
+        return Boolean.TRUE.equals(exists);
+    }
+
+    public void dropHitPartition(String partition) {
+        jdbcTemplate.execute("DROP TABLE " + partition);
+    }
+
+    public String partitionName(LocalDate day) {
+        return HITS_PARTITION_PREFIX + PARTITION_SUFFIX.format(day);
+    }
+
+    public Optional<LocalDate> partitionDay(String partition) {
+        if (!partition.matches(HITS_PARTITION_PREFIX + "\\d{8}")) {
+            return Optional.empty();
+        }
+        return Optional.of(LocalDate.parse(partition.substring(HITS_PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+    }
+}
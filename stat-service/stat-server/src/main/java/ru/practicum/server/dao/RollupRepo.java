@@ -0,0 +1,83 @@
+package ru.practicum.server.dao;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.server.model.BucketRange;
+import ru.practicum.server.model.RollupBucket;
+import ru.practicum.server.model.ViewStats;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@Timed(value = "stats.repository", histogram = true)
+@RequiredArgsConstructor
+public class RollupRepo {
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public void addHits(Map<RollupBucket, Long> hits) {
+        if (hits.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<RollupBucket, Long>> entries = new ArrayList<>(hits.entrySet());
+        int[][] updated = jdbcTemplate.batchUpdate("UPDATE hit_rollups SET hits = hits + ? " +
+                        "WHERE granularity = ? AND bucket = ? AND uri = ? AND app = ?", entries, entries.size(),
+                (ps, entry) -> {
+                    ps.setLong(1, entry.getValue());
+                    ps.setString(2, entry.getKey().getGranularity().name());
+                    ps.setTimestamp(3, Timestamp.valueOf(entry.getKey().getStart()));
+                    ps.setString(4, entry.getKey().getUri());
+                    ps.setString(5, entry.getKey().getApp());
+                });
+
+        List<Map.Entry<RollupBucket, Long>> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int count : batch) {
+                if (count == 0) {
+                    missing.add(entries.get(index));
+                }
+                index++;
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO hit_rollups (app, uri, granularity, bucket, hits) " +
+                "VALUES (?, ?, ?, ?, ?)", missing, missing.size(), (ps, entry) -> {
+                    ps.setString(1, entry.getKey().getApp());
+                    ps.setString(2, entry.getKey().getUri());
+                    ps.setString(3, entry.getKey().getGranularity().name());
+                    ps.setTimestamp(4, Timestamp.valueOf(entry.getKey().getStart()));
+                    ps.setLong(5, entry.getValue());
+                });
+    }
+
+    public List<ViewStats> sumHits(List<BucketRange> ranges, List<String> uris) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> predicates = new ArrayList<>();
+        for (int i = 0; i < ranges.size(); i++) {
+            BucketRange range = ranges.get(i);
+            predicates.add(String.format("(granularity = :g%1$d AND bucket >= :from%1$d AND bucket < :to%1$d)", i));
+            params.addValue("g" + i, range.getGranularity().name())
+                    .addValue("from" + i, Timestamp.valueOf(range.getFrom()))
+                    .addValue("to" + i, Timestamp.valueOf(range.getTo()));
+        }
+        String sql = "SELECT app, uri, SUM(hits) AS hits FROM hit_rollups WHERE (" +
+                String.join(" OR ", predicates) + ")";
+        if (!uris.isEmpty()) {
+            sql += " AND uri IN (:uris)";
+            params.addValue("uris", uris);
+        }
+        sql += " GROUP BY app, uri";
+        return namedJdbcTemplate.query(sql, params,
+                (rs, rowNum) -> new ViewStats(rs.getString("app"), rs.getString("uri"), rs.getLong("hits")));
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.server.dao;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.server.util.enums.Granularity;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Timed(value = "stats.repository", histogram = true)
+@RequiredArgsConstructor
+public class SketchRepo {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public interface SketchConsumer {
+        void accept(String app, String uri, byte[] registers);
+    }
+
+    public Optional<byte[]> findForUpdate(String app, String uri, Granularity granularity, LocalDate bucket) {
+        List<byte[]> sketches = jdbcTemplate.queryForList("SELECT registers FROM hit_sketches " +
+                        "WHERE app = :app AND uri = :uri AND granularity = :granularity AND bucket = :bucket FOR UPDATE",
+                key(app, uri, granularity, bucket), byte[].class);
+        return sketches.stream().findFirst();
+    }
+
+    public void insert(String app, String uri, Granularity granularity, LocalDate bucket, byte[] registers) {
+        jdbcTemplate.update("INSERT INTO hit_sketches (app, uri, granularity, bucket, registers) " +
+                        "VALUES (:app, :uri, :granularity, :bucket, :registers)",
+                key(app, uri, granularity, bucket).addValue("registers", registers));
+    }
+
+    public void update(String app, String uri, Granularity granularity, LocalDate bucket, byte[] registers) {
+        jdbcTemplate.update("UPDATE hit_sketches SET registers = :registers " +
+                        "WHERE app = :app AND uri = :uri AND granularity = :granularity AND bucket = :bucket",
+                key(app, uri, granularity, bucket).addValue("registers", registers));
+    }
+
+    public void forEachSketch(Granularity granularity, LocalDate from, LocalDate to, List<String> uris,
+                              SketchConsumer consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("granularity", granularity.name())
+                .addValue("from", Date.valueOf(from))
+                .addValue("to", Date.valueOf(to));
+        String sql = "SELECT app, uri, registers FROM hit_sketches " +
+                "WHERE granularity = :granularity AND bucket >= :from AND bucket < :to";
+        if (!uris.isEmpty()) {
+            sql += " AND uri IN (:uris)";
+            params.addValue("uris", uris);
+        }
+        jdbcTemplate.query(sql, params, rs -> {
+            consumer.accept(rs.getString("app"), rs.getString("uri"), rs.getBytes("registers"));
+        });
+    }
+
+    private MapSqlParameterSource key(String app, String uri, Granularity granularity, LocalDate bucket) {
+        return new MapSqlParameterSource()
+                .addValue("app", app)
+                .addValue("uri", uri)
+                .addValue("granularity", granularity.name())
+                .addValue("bucket", Date.valueOf(bucket));
+    }
+}
@@ -1,19 +1,57 @@
 package ru.practicum.server.dao;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.server.model.EndpointHit;
+import ru.practicum.server.model.ViewStats;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface StatRepo extends JpaRepository<EndpointHit, Long> {
+public interface StatRepo extends JpaRepository<EndpointHit, Long>, StatRepoCustom {
+    String STREAM_FETCH_SIZE = "1000";
+
+    @Query("SELECT new ru.practicum.server.model.ViewStats(h.app, h.uri, COUNT(DISTINCT h.ip)) " +
+            "FROM EndpointHit h " +
+            "WHERE h.timestamp BETWEEN :start AND :end AND h.uri IN :uris " +
+            "GROUP BY h.app, h.uri " +
+            "ORDER BY COUNT(DISTINCT h.ip) DESC")
+    List<ViewStats> findUniqueStatsByUris(@Param("uris") List<String> uris,
+                                          @Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end);
 
-    List<EndpointHit> findAllByUriInAndTimestampBetween(List<String> uris, LocalDateTime start, LocalDateTime end);
+    @Query("SELECT new ru.practicum.server.model.ViewStats(h.app, h.uri, COUNT(DISTINCT h.ip)) " +
+            "FROM EndpointHit h " +
+            "WHERE h.timestamp BETWEEN :start AND :end " +
+            "GROUP BY h.app, h.uri " +
+            "ORDER BY COUNT(DISTINCT h.ip) DESC")
+    List<ViewStats> findUniqueStats(@Param("start") LocalDateTime start,
+                                    @Param("end") LocalDateTime end);
 
-    List<EndpointHit> findAllByTimestampBetween(LocalDateTime start, LocalDateTime end);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT new ru.practicum.server.model.ViewStats(h.app, h.uri, COUNT(DISTINCT h.ip)) " +
+            "FROM EndpointHit h " +
+            "WHERE h.timestamp BETWEEN :start AND :end AND h.uri IN :uris " +
+            "GROUP BY h.app, h.uri " +
+            "ORDER BY COUNT(DISTINCT h.ip) DESC")
+    Stream<ViewStats> streamUniqueStatsByUris(@Param("uris") List<String> uris,
+                                              @Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end);
 
-    List<EndpointHit> findFirstDistinctByUriInAndTimestampBetween(List<String> uris, LocalDateTime start,
-                                                                  LocalDateTime end);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT new ru.practicum.server.model.ViewStats(h.app, h.uri, COUNT(DISTINCT h.ip)) " +
+            "FROM EndpointHit h " +
+            "WHERE h.timestamp BETWEEN :start AND :end " +
+            "GROUP BY h.app, h.uri " +
+            "ORDER BY COUNT(DISTINCT h.ip) DESC")
+    Stream<ViewStats> streamUniqueStats(@Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end);
 }
@@ -0,0 +1,21 @@
+package ru.practicum.server.dao;
+
+import ru.practicum.server.model.EndpointHit;
+import ru.practicum.server.model.ViewStats;
+import ru.practicum.server.model.Watermark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface StatRepoCustom {
+    void saveAllInBatch(List<EndpointHit> hits);
+
+    List<EndpointHit> findHitsToFold(Watermark after, LocalDateTime horizon, int limit);
+
+    void forEachDistinctVisitor(LocalDateTime from, LocalDateTime to, boolean toInclusive, List<String> uris,
+                                Watermark after, Consumer<EndpointHit> consumer);
+
+    List<ViewStats> countRawHits(LocalDateTime start, LocalDateTime alignedStart, LocalDateTime alignedEnd,
+                                 LocalDateTime end, Watermark after, List<String> uris);
+}
@@ -0,0 +1,107 @@
+package ru.practicum.server.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.server.model.EndpointHit;
+import ru.practicum.server.model.ViewStats;
+import ru.practicum.server.model.Watermark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class StatRepoCustomImpl implements StatRepoCustom {
+    private static final String INSERT_HIT = "INSERT INTO hits (app, uri, ip, timestamp) VALUES (?, ?, ?, ?)";
+
+    private static final RowMapper<EndpointHit> HIT_MAPPER = (rs, rowNum) -> {
+        EndpointHit hit = new EndpointHit();
+        hit.setId(rs.getLong("id"));
+        hit.setApp(rs.getString("app"));
+        hit.setUri(rs.getString("uri"));
+        hit.setIp(rs.getString("ip"));
+        hit.setTimestamp(rs.getTimestamp("timestamp").toLocalDateTime());
+        hit.setReceivedAt(rs.getTimestamp("received_at").toLocalDateTime());
+        return hit;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Value("${stats.ingest.jdbc-batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void saveAllInBatch(List<EndpointHit> hits) {
+        jdbcTemplate.batchUpdate(INSERT_HIT, hits, batchSize, (ps, hit) -> {
+            ps.setString(1, hit.getApp());
+            ps.setString(2, hit.getUri());
+            ps.setString(3, hit.getIp());
+            ps.setTimestamp(4, Timestamp.valueOf(hit.getTimestamp()));
+        });
+    }
+
+    @Override
+    public List<EndpointHit> findHitsToFold(Watermark after, LocalDateTime horizon, int limit) {
+        Timestamp afterReceivedAt = Timestamp.valueOf(after.getReceivedAt());
+        return jdbcTemplate.query("SELECT id, app, uri, ip, timestamp, received_at FROM hits " +
+                        "WHERE (received_at > ? OR (received_at = ? AND id > ?)) AND received_at < ? " +
+                        "ORDER BY received_at, id LIMIT ?", HIT_MAPPER,
+                afterReceivedAt, afterReceivedAt, after.getHitId(), Timestamp.valueOf(horizon), limit);
+    }
+
+    @Override
+    public void forEachDistinctVisitor(LocalDateTime from, LocalDateTime to, boolean toInclusive, List<String> uris,
+                                       Watermark after, Consumer<EndpointHit> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(from))
+                .addValue("to", Timestamp.valueOf(to));
+        StringBuilder sql = new StringBuilder("SELECT DISTINCT app, uri, ip FROM hits WHERE timestamp >= :from ")
+                .append(toInclusive ? "AND timestamp <= :to" : "AND timestamp < :to");
+        if (!uris.isEmpty()) {
+            sql.append(" AND uri IN (:uris)");
+            params.addValue("uris", uris);
+        }
+        if (after != null) {
+            sql.append(" AND (received_at > :afterReceivedAt OR (received_at = :afterReceivedAt AND id > :afterId))");
+            params.addValue("afterReceivedAt", Timestamp.valueOf(after.getReceivedAt()));
+            params.addValue("afterId", after.getHitId());
+        }
+        namedJdbcTemplate.query(sql.toString(), params, rs -> {
+            EndpointHit hit = new EndpointHit();
+            hit.setApp(rs.getString("app"));
+            hit.setUri(rs.getString("uri"));
+            hit.setIp(rs.getString("ip"));
+            consumer.accept(hit);
+        });
+    }
+
+    @Override
+    public List<ViewStats> countRawHits(LocalDateTime start, LocalDateTime alignedStart, LocalDateTime alignedEnd,
+                                        LocalDateTime end, Watermark after, List<String> uris) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("start", Timestamp.valueOf(start))
+                .addValue("alignedStart", Timestamp.valueOf(alignedStart))
+                .addValue("alignedEnd", Timestamp.valueOf(alignedEnd))
+                .addValue("end", Timestamp.valueOf(end))
+                .addValue("afterReceivedAt", Timestamp.valueOf(after.getReceivedAt()))
+                .addValue("afterId", after.getHitId());
+        String sql = "SELECT app, uri, COUNT(*) AS hits FROM hits " +
+                "WHERE ((timestamp >= :start AND timestamp < :alignedStart) " +
+                "OR (timestamp >= :alignedEnd AND timestamp <= :end) " +
+                "OR ((received_at > :afterReceivedAt OR (received_at = :afterReceivedAt AND id > :afterId)) " +
+                "AND timestamp >= :alignedStart AND timestamp < :alignedEnd))";
+        if (!uris.isEmpty()) {
+            sql += " AND uri IN (:uris)";
+            params.addValue("uris", uris);
+        }
+        sql += " GROUP BY app, uri";
+        return namedJdbcTemplate.query(sql, params,
+                (rs, rowNum) -> new ViewStats(rs.getString("app"), rs.getString("uri"), rs.getLong("hits")));
+    }
+}
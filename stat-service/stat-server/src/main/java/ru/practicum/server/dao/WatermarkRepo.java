@@ -0,0 +1,56 @@
+package ru.practicum.server.dao;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import ru.practicum.server.model.Watermark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Timed(value = "stats.repository", histogram = true)
+@RequiredArgsConstructor
+public class WatermarkRepo {
+    private static final RowMapper<Watermark> WATERMARK_MAPPER = (rs, rowNum) ->
+            new Watermark(rs.getTimestamp("last_received_at").toLocalDateTime(), rs.getLong("last_hit_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${stats.fold.commit-lag-seconds:60}")
+    private long commitLagSeconds;
+
+    public Watermark findWatermark(String job) {
+        List<Watermark> watermarks = jdbcTemplate.query(
+                "SELECT last_received_at, last_hit_id FROM stats_job_watermarks WHERE job = ?",
+                WATERMARK_MAPPER, job);
+        return watermarks.isEmpty() ? Watermark.INITIAL : watermarks.get(0);
+    }
+
+    public Watermark lockWatermark(String job) {
+        List<Watermark> watermarks = jdbcTemplate.query(
+                "SELECT last_received_at, last_hit_id FROM stats_job_watermarks WHERE job = ? FOR UPDATE",
+                WATERMARK_MAPPER, job);
+        if (watermarks.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO stats_job_watermarks (job, last_hit_id, last_received_at) " +
+                    "VALUES (?, ?, ?)", job, Watermark.INITIAL.getHitId(),
+                    Timestamp.valueOf(Watermark.INITIAL.getReceivedAt()));
+            return Watermark.INITIAL;
+        }
+        return watermarks.get(0);
+    }
+
+    public void updateWatermark(String job, Watermark watermark) {
+        jdbcTemplate.update("UPDATE stats_job_watermarks SET last_received_at = ?, last_hit_id = ? WHERE job = ?",
+                Timestamp.valueOf(watermark.getReceivedAt()), watermark.getHitId(), job);
+    }
+
+    public LocalDateTime findFoldHorizon() {
+        Timestamp now = jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", Timestamp.class);
+        return now.toLocalDateTime().minusSeconds(commitLagSeconds);
+    }
+}
@@ -1,36 +1,50 @@
 package ru.practicum.server.exception;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @RestControllerAdvice
 public class ErrorHandler {
+    public static final String ACCEPTED_HITS_HEADER = "X-Hits-Accepted";
 
     @ExceptionHandler
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleStartAfterEndException(final StartAfterEndException e) {
-        return new ErrorResponse("Start time is after end time.");
+    public ResponseEntity<ErrorResponse> handleStartAfterEndException(final StartAfterEndException e) {
+        return error(HttpStatus.BAD_REQUEST, "Start time is after end time.");
     }
 
     @ExceptionHandler
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public ErrorResponse handleThrowableExceptions(final Exception e) {
-        return new ErrorResponse("Internal server error 500.");
+    public ResponseEntity<ErrorResponse> handleMalformedHitStreamException(final MalformedHitStreamException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .header(ACCEPTED_HITS_HEADER, String.valueOf(e.getAcceptedHits()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorResponse(e.getMessage()));
     }
 
     @ExceptionHandler
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleMethodArgumentNotValidException(final MethodArgumentNotValidException e) {
-        return new ErrorResponse("Method Argument Validation exception.");
+    public ResponseEntity<ErrorResponse> handleThrowableExceptions(final Exception e) {
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error 500.");
     }
 
     @ExceptionHandler
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleMissingRequestParameterException(final MissingServletRequestParameterException e) {
-        return new ErrorResponse("Parameter missing.");
+    public ResponseEntity<ErrorResponse> handleMethodArgumentNotValidException(
+            final MethodArgumentNotValidException e) {
+        return error(HttpStatus.BAD_REQUEST, "Method Argument Validation exception.");
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleMissingRequestParameterException(
+            final MissingServletRequestParameterException e) {
+        return error(HttpStatus.BAD_REQUEST, "Parameter missing.");
+    }
+
+    private ResponseEntity<ErrorResponse> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorResponse(message));
     }
 }
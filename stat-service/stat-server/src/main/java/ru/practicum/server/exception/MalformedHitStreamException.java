@@ -0,0 +1,13 @@
+package ru.practicum.server.exception;
+
+import lombok.Getter;
+
+@Getter
+public class MalformedHitStreamException extends RuntimeException {
+    private final long acceptedHits;
+
+    public MalformedHitStreamException(String message, long acceptedHits) {
+        super(message);
+        this.acceptedHits = acceptedHits;
+    }
+}
@@ -5,14 +5,22 @@ import org.mapstruct.Mapping;
 import ru.practicum.dto.EndpointHitDto;
 import ru.practicum.dto.ViewStatsDto;
 import ru.practicum.server.model.EndpointHit;
+import ru.practicum.server.model.ViewStats;
 import ru.practicum.server.util.DateTimePattern;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring")
 public interface EndpointHitMapper {
     @Mapping(target = "timestamp", source = "timestamp", dateFormat = DateTimePattern.PATTERN)
+    @Mapping(target = "receivedAt", ignore = true)
     EndpointHit toEntity(EndpointHitDto endpointHitDto);
 
+    List<EndpointHit> toEntityList(List<EndpointHitDto> endpointHitDtos);
+
     EndpointHitDto toEndpointHitDto(EndpointHit endpointHit);
 
-    ViewStatsDto fromHitToViewStatsDto(EndpointHit endpointHit);
+    ViewStatsDto toViewStatsDto(ViewStats viewStats);
+
+    List<ViewStatsDto> toViewStatsDtoList(List<ViewStats> viewStats);
 }
@@ -0,0 +1,15 @@
+package ru.practicum.server.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.server.util.enums.Granularity;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BucketRange {
+    private final Granularity granularity;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+}
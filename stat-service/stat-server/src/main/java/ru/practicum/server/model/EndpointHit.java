@@ -22,4 +22,6 @@ public class EndpointHit {
     private String ip;
     @DateTimeFormat(pattern = DateTimePattern.PATTERN)
     private LocalDateTime timestamp;
+    @Column(name = "received_at", insertable = false, updatable = false)
+    private LocalDateTime receivedAt;
 }
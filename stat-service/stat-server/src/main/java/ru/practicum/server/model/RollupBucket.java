@@ -0,0 +1,18 @@
+package ru.practicum.server.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import ru.practicum.server.util.enums.Granularity;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class RollupBucket {
+    private final String app;
+    private final String uri;
+    private final Granularity granularity;
+    private final LocalDateTime start;
+}
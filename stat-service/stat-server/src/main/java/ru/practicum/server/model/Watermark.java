@@ -0,0 +1,15 @@
+package ru.practicum.server.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class Watermark {
+    public static final Watermark INITIAL = new Watermark(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    private final LocalDateTime receivedAt;
+    private final long hitId;
+}
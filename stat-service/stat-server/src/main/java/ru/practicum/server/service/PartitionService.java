@@ -0,0 +1,5 @@
+package ru.practicum.server.service;
+
+public interface PartitionService {
+    void maintainPartitions();
+}
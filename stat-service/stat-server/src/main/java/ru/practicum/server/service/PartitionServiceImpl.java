@@ -0,0 +1,88 @@
+package ru.practicum.server.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.server.dao.PartitionRepo;
+import ru.practicum.server.dao.WatermarkRepo;
+import ru.practicum.server.model.Watermark;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@Timed(value = "stats.service", histogram = true)
+@Slf4j
+@ConditionalOnProperty(name = "spring.sql.init.platform", havingValue = "postgresql")
+public class PartitionServiceImpl implements PartitionService {
+    private final PartitionRepo partitionRepo;
+    private final WatermarkRepo watermarkRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final int premakeDays;
+    private final int retentionDays;
+
+    public PartitionServiceImpl(PartitionRepo partitionRepo, WatermarkRepo watermarkRepo,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${stats.partitions.premake-days:7}") int premakeDays,
+                                @Value("${stats.retention.days:90}") int retentionDays) {
+        this.partitionRepo = partitionRepo;
+        this.watermarkRepo = watermarkRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.premakeDays = premakeDays;
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${stats.partitions.maintenance-interval-ms:3600000}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now();
+        LocalDate retainedFrom = today.minusDays(retentionDays);
+        Set<LocalDate> required = new HashSet<>(partitionRepo.findDaysInDefaultPartition());
+        for (LocalDate day = today.minusDays(1); !day.isAfter(today.plusDays(premakeDays)); day = day.plusDays(1)) {
+            required.add(day);
+        }
+        for (String partition : partitionRepo.findHitPartitions()) {
+            partitionRepo.partitionDay(partition).ifPresent(required::remove);
+        }
+        required.stream().sorted().forEach(this::createPartition);
+
+        List<Watermark> watermarks = List.of(watermarkRepo.findWatermark(RollupServiceImpl.JOB),
+                watermarkRepo.findWatermark(UniqueVisitorServiceImpl.JOB));
+        for (String partition : partitionRepo.findHitPartitions()) {
+            Optional<LocalDate> day = partitionRepo.partitionDay(partition);
+            if (day.isPresent() && day.get().isBefore(retainedFrom)) {
+                dropPartition(partition, watermarks);
+            }
+        }
+    }
+
+    private void createPartition(LocalDate day) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> partitionRepo.createHitPartition(day));
+            log.info("Created hits partition {}.", partitionRepo.partitionName(day));
+        } catch (DataAccessException e) {
+            log.warn("Failed to create hits partition for {}: {}", day, e.getMessage());
+        }
+    }
+
+    private void dropPartition(String partition, List<Watermark> watermarks) {
+        if (watermarks.stream().anyMatch(watermark -> partitionRepo.hasHitsAfter(partition, watermark))) {
+            log.warn("Hits partition {} is past retention but not folded into rollups and sketches yet.", partition);
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> partitionRepo.dropHitPartition(partition));
+            log.info("Dropped hits partition {} past the {} day retention.", partition, retentionDays);
+        } catch (DataAccessException e) {
+            log.warn("Failed to drop hits partition {}: {}", partition, e.getMessage());
+        }
+    }
+}
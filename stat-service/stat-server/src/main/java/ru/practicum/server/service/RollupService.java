@@ -0,0 +1,12 @@
+package ru.practicum.server.service;
+
+import ru.practicum.server.model.ViewStats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RollupService {
+    void foldNewHits();
+
+    List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris);
+}
@@ -0,0 +1,132 @@
+package ru.practicum.server.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.server.dao.RollupRepo;
+import ru.practicum.server.dao.StatRepo;
+import ru.practicum.server.dao.WatermarkRepo;
+import ru.practicum.server.model.BucketRange;
+import ru.practicum.server.model.EndpointHit;
+import ru.practicum.server.model.RollupBucket;
+import ru.practicum.server.model.ViewStats;
+import ru.practicum.server.model.Watermark;
+import ru.practicum.server.util.RollupBuckets;
+import ru.practicum.server.util.enums.Granularity;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = "stats.service", histogram = true)
+@Slf4j
+public class RollupServiceImpl implements RollupService {
+    static final String JOB = "hit_rollups";
+
+    private final StatRepo statRepo;
+    private final RollupRepo rollupRepo;
+    private final WatermarkRepo watermarkRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final int foldBatchSize;
+
+    public RollupServiceImpl(StatRepo statRepo, RollupRepo rollupRepo, WatermarkRepo watermarkRepo,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${stats.rollup.fold-batch-size:50000}") int foldBatchSize) {
+        this.statRepo = statRepo;
+        this.rollupRepo = rollupRepo;
+        this.watermarkRepo = watermarkRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.foldBatchSize = foldBatchSize;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${stats.rollup.fold-interval-ms:5000}")
+    public void foldNewHits() {
+        int folded;
+        do {
+            Integer count = transactionTemplate.execute(status -> foldBatch());
+            folded = count != null ? count : 0;
+        } while (folded == foldBatchSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        LocalDateTime alignedStart = Granularity.MINUTE.ceil(start);
+        LocalDateTime alignedEnd = Granularity.MINUTE.truncate(end);
+        if (!alignedStart.isBefore(alignedEnd)) {
+            alignedStart = start;
+            alignedEnd = start;
+        }
+
+        Watermark watermark = watermarkRepo.findWatermark(JOB);
+        Map<String, ViewStats> stats = new HashMap<>();
+        List<BucketRange> ranges = plan(alignedStart, alignedEnd);
+        if (!ranges.isEmpty()) {
+            rollupRepo.sumHits(ranges, uris).forEach(stat -> addHits(stats, stat));
+        }
+        statRepo.countRawHits(start, alignedStart, alignedEnd, end, watermark, uris)
+                .forEach(stat -> addHits(stats, stat));
+
+        return stats.values().stream()
+                .sorted(Comparator.comparing(ViewStats::getHits).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private int foldBatch() {
+        Watermark watermark = watermarkRepo.lockWatermark(JOB);
+        List<EndpointHit> hits = statRepo.findHitsToFold(watermark, watermarkRepo.findFoldHorizon(), foldBatchSize);
+        if (hits.isEmpty()) {
+            return 0;
+        }
+
+        Map<RollupBucket, Long> buckets = RollupBuckets.countHits(hits);
+        rollupRepo.addHits(buckets);
+        EndpointHit last = hits.get(hits.size() - 1);
+        watermarkRepo.updateWatermark(JOB, new Watermark(last.getReceivedAt(), last.getId()));
+        log.debug("Folded {} hits into {} rollup buckets.", hits.size(), buckets.size());
+        return hits.size();
+    }
+
+    private List<BucketRange> plan(LocalDateTime from, LocalDateTime to) {
+        List<BucketRange> ranges = new ArrayList<>();
+        LocalDateTime hoursFrom = Granularity.HOUR.ceil(from);
+        LocalDateTime hoursTo = Granularity.HOUR.truncate(to);
+        if (!hoursFrom.isBefore(hoursTo)) {
+            addRange(ranges, Granularity.MINUTE, from, to);
+            return ranges;
+        }
+        addRange(ranges, Granularity.MINUTE, from, hoursFrom);
+        addRange(ranges, Granularity.MINUTE, hoursTo, to);
+
+        LocalDateTime daysFrom = Granularity.DAY.ceil(hoursFrom);
+        LocalDateTime daysTo = Granularity.DAY.truncate(hoursTo);
+        if (!daysFrom.isBefore(daysTo)) {
+            addRange(ranges, Granularity.HOUR, hoursFrom, hoursTo);
+            return ranges;
+        }
+        addRange(ranges, Granularity.HOUR, hoursFrom, daysFrom);
+        addRange(ranges, Granularity.HOUR, daysTo, hoursTo);
+        addRange(ranges, Granularity.DAY, daysFrom, daysTo);
+        return ranges;
+    }
+
+    private void addRange(List<BucketRange> ranges, Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        if (from.isBefore(to)) {
+            ranges.add(new BucketRange(granularity, from, to));
+        }
+    }
+
+    private void addHits(Map<String, ViewStats> stats, ViewStats stat) {
+        stats.merge(stat.getApp() + '\n' + stat.getUri(), stat, (left, right) -> {
+            left.setHits(left.getHits() + right.getHits());
+            return left;
+        });
+    }
+}
@@ -5,9 +5,15 @@ import ru.practicum.dto.ViewStatsDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface StatService {
     EndpointHitDto createEndpointHitDto(EndpointHitDto dto);
 
+    void createEndpointHits(List<EndpointHitDto> dtos);
+
     List<ViewStatsDto> getStats(boolean unique, LocalDateTime start, LocalDateTime end, List<String> uris);
+
+    void streamStats(boolean unique, LocalDateTime start, LocalDateTime end, List<String> uris,
+                     Consumer<ViewStatsDto> consumer);
 }
@@ -1,26 +1,44 @@
 package ru.practicum.server.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.dto.EndpointHitDto;
 import ru.practicum.dto.ViewStatsDto;
 import ru.practicum.server.dao.StatRepo;
 import ru.practicum.server.mapper.EndpointHitMapper;
 import ru.practicum.server.model.EndpointHit;
+import ru.practicum.server.model.ViewStats;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "stats.service", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class StatServiceImpl implements StatService {
     private final StatRepo statRepo;
     private final EndpointHitMapper hitMapper;
+    private final UniqueVisitorService uniqueVisitorService;
+    private final RollupService rollupService;
+
+    @Value("${stats.unique.sketch-threshold-hours:48}")
+    private long sketchThresholdHours;
+
+    @Value("${stats.retention.days:90}")
+    private int retentionDays;
 
     @Override
+    @Transactional(timeoutString = "${stats.ingest.transaction-timeout-seconds:30}")
     public EndpointHitDto createEndpointHitDto(EndpointHitDto dto) {
         EndpointHit hit = hitMapper.toEntity(dto);
         statRepo.save(hit);
@@ -28,47 +46,43 @@ public class StatServiceImpl implements StatService {
     }
 
     @Override
+    @Transactional(timeoutString = "${stats.ingest.transaction-timeout-seconds:30}")
+    public void createEndpointHits(List<EndpointHitDto> dtos) {
+        statRepo.saveAllInBatch(hitMapper.toEntityList(dtos));
+        log.debug("Saved {} hits in batch.", dtos.size());
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public List<ViewStatsDto> getStats(boolean unique, LocalDateTime start, LocalDateTime end, List<String> uris) {
-        if (unique) {
-            return viewStatsByHits(statRepo
-                    .findFirstDistinctByUriInAndTimestampBetween(uris, start, end));
-        }
-        if (!uris.isEmpty()) {
-            return viewStatsByHits(statRepo.findAllByUriInAndTimestampBetween(uris, start, end));
+        List<ViewStats> stats;
+        if (unique && useSketch(start, end)) {
+            stats = uniqueVisitorService.estimateUniqueStats(start, end, uris);
+        } else if (unique) {
+            stats = uris.isEmpty() ? statRepo.findUniqueStats(start, end)
+                    : statRepo.findUniqueStatsByUris(uris, start, end);
         } else {
-            return viewStatsWithoutUris(statRepo.findAllByTimestampBetween(start, end));
+            stats = rollupService.getStats(start, end, uris);
         }
+        return hitMapper.toViewStatsDtoList(stats);
     }
 
-    private List<ViewStatsDto> viewStatsWithoutUris(List<EndpointHit> hits) {
-        Map<String, Long> urisCount = hits.stream()
-                .collect(Collectors.groupingBy(EndpointHit::getUri, Collectors.counting()));
-
-        List<ViewStatsDto> stats = new ArrayList<>();
-        for (EndpointHit hit : hits) {
-            ViewStatsDto stat = hitMapper.fromHitToViewStatsDto(hit);
-            long uriCount = urisCount.get(stat.getUri());
-            stat.setHits(uriCount);
-            stats.add(stat);
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void streamStats(boolean unique, LocalDateTime start, LocalDateTime end, List<String> uris,
+                            Consumer<ViewStatsDto> consumer) {
+        if (!unique || useSketch(start, end)) {
+            getStats(unique, start, end, uris).forEach(consumer);
+            return;
         }
-
-        return stats.stream()
-                .sorted(Comparator.comparing(ViewStatsDto::getHits).reversed())
-                .collect(Collectors.toList());
-    }
-
-    private List<ViewStatsDto> viewStatsByHits(List<EndpointHit> hits) {
-        Map<String, Long> urisCount = hits.stream()
-                .collect(Collectors.groupingBy(EndpointHit::getUri, Collectors.counting()));
-
-        Set<ViewStatsDto> stats = new TreeSet<>(Comparator.comparing(ViewStatsDto::getHits).reversed());
-        for (EndpointHit hit : hits) {
-            ViewStatsDto stat = hitMapper.fromHitToViewStatsDto(hit);
-            long uriCount = urisCount.get(stat.getUri());
-            stat.setHits(uriCount);
-            stats.add(stat);
+        try (Stream<ViewStats> stats = uris.isEmpty() ? statRepo.streamUniqueStats(start, end)
+                : statRepo.streamUniqueStatsByUris(uris, start, end)) {
+            stats.map(hitMapper::toViewStatsDto).forEach(consumer);
         }
+    }
 
-        return new ArrayList<>(stats);
+    private boolean useSketch(LocalDateTime start, LocalDateTime end) {
+        return Duration.between(start, end).toHours() >= sketchThresholdHours
+                || start.isBefore(LocalDate.now().minusDays(retentionDays).atStartOfDay());
     }
 }
@@ -0,0 +1,12 @@
+package ru.practicum.server.service;
+
+import ru.practicum.server.model.ViewStats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UniqueVisitorService {
+    void foldNewHits();
+
+    List<ViewStats> estimateUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris);
+}
@@ -0,0 +1,177 @@
+package ru.practicum.server.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.server.dao.SketchRepo;
+import ru.practicum.server.dao.StatRepo;
+import ru.practicum.server.dao.WatermarkRepo;
+import ru.practicum.server.model.EndpointHit;
+import ru.practicum.server.model.ViewStats;
+import ru.practicum.server.model.Watermark;
+import ru.practicum.server.util.HyperLogLog;
+import ru.practicum.server.util.enums.Granularity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = "stats.service", histogram = true)
+@Slf4j
+public class UniqueVisitorServiceImpl implements UniqueVisitorService {
+    static final String JOB = "hit_sketches";
+
+    private final StatRepo statRepo;
+    private final SketchRepo sketchRepo;
+    private final WatermarkRepo watermarkRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final int foldBatchSize;
+    private final int retentionDays;
+
+    public UniqueVisitorServiceImpl(StatRepo statRepo, SketchRepo sketchRepo, WatermarkRepo watermarkRepo,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${stats.sketch.fold-batch-size:50000}") int foldBatchSize,
+                                    @Value("${stats.retention.days:90}") int retentionDays) {
+        this.statRepo = statRepo;
+        this.sketchRepo = sketchRepo;
+        this.watermarkRepo = watermarkRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.foldBatchSize = foldBatchSize;
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${stats.sketch.fold-interval-ms:5000}")
+    public void foldNewHits() {
+        int folded;
+        do {
+            Integer count = transactionTemplate.execute(status -> foldBatch());
+            folded = count != null ? count : 0;
+        } while (folded == foldBatchSize);
+    }
+
+    @Override
+    public List<ViewStats> estimateUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        LocalDateTime retainedFrom = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        if (start.isBefore(retainedFrom)) {
+            start = Granularity.DAY.truncate(start);
+        }
+        if (end.isBefore(retainedFrom)) {
+            end = Granularity.DAY.ceil(end);
+        }
+        LocalDateTime fullStart = start.toLocalDate().atStartOfDay();
+        if (fullStart.isBefore(start)) {
+            fullStart = fullStart.plusDays(1);
+        }
+        LocalDate firstDay = fullStart.toLocalDate();
+        LocalDate lastDayExclusive = end.toLocalDate();
+        LocalDateTime fullEnd = lastDayExclusive.atStartOfDay();
+        Map<SketchKey, HyperLogLog> sketches = new HashMap<>();
+
+        if (firstDay.isBefore(lastDayExclusive)) {
+            Watermark watermark = watermarkRepo.findWatermark(JOB);
+            LocalDate firstMonth = firstDay.withDayOfMonth(1);
+            if (firstMonth.isBefore(firstDay)) {
+                firstMonth = firstMonth.plusMonths(1);
+            }
+            LocalDate lastMonthExclusive = lastDayExclusive.withDayOfMonth(1);
+            if (firstMonth.isBefore(lastMonthExclusive)) {
+                mergeSketches(sketches, Granularity.MONTH, firstMonth, lastMonthExclusive, uris);
+                mergeSketches(sketches, Granularity.DAY, firstDay, firstMonth, uris);
+                mergeSketches(sketches, Granularity.DAY, lastMonthExclusive, lastDayExclusive, uris);
+            } else {
+                mergeSketches(sketches, Granularity.DAY, firstDay, lastDayExclusive, uris);
+            }
+            statRepo.forEachDistinctVisitor(fullStart, fullEnd, false, uris, watermark,
+                    hit -> addVisitor(sketches, hit));
+            if (start.isBefore(fullStart)) {
+                statRepo.forEachDistinctVisitor(start, fullStart, false, uris, null,
+                        hit -> addVisitor(sketches, hit));
+            }
+            statRepo.forEachDistinctVisitor(fullEnd, end, true, uris, null, hit -> addVisitor(sketches, hit));
+        } else {
+            statRepo.forEachDistinctVisitor(start, end, true, uris, null, hit -> addVisitor(sketches, hit));
+        }
+
+        return sketches.entrySet().stream()
+                .map(entry -> new ViewStats(entry.getKey().getApp(), entry.getKey().getUri(),
+                        entry.getValue().estimate()))
+                .sorted(Comparator.comparing(ViewStats::getHits).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private int foldBatch() {
+        Watermark watermark = watermarkRepo.lockWatermark(JOB);
+        List<EndpointHit> hits = statRepo.findHitsToFold(watermark, watermarkRepo.findFoldHorizon(), foldBatchSize);
+        if (hits.isEmpty()) {
+            return 0;
+        }
+
+        Map<BucketKey, HyperLogLog> buckets = new HashMap<>();
+        for (EndpointHit hit : hits) {
+            LocalDate day = hit.getTimestamp().toLocalDate();
+            buckets.computeIfAbsent(new BucketKey(hit.getApp(), hit.getUri(), Granularity.DAY, day),
+                    key -> new HyperLogLog()).add(hit.getIp());
+            buckets.computeIfAbsent(new BucketKey(hit.getApp(), hit.getUri(), Granularity.MONTH,
+                    day.withDayOfMonth(1)), key -> new HyperLogLog()).add(hit.getIp());
+        }
+
+        buckets.forEach((key, sketch) -> {
+            Optional<byte[]> stored = sketchRepo.findForUpdate(key.getApp(), key.getUri(), key.getGranularity(),
+                    key.getBucket());
+            if (stored.isPresent()) {
+                sketch.merge(HyperLogLog.fromBytes(stored.get()));
+                sketchRepo.update(key.getApp(), key.getUri(), key.getGranularity(), key.getBucket(),
+                        sketch.toBytes());
+            } else {
+                sketchRepo.insert(key.getApp(), key.getUri(), key.getGranularity(), key.getBucket(),
+                        sketch.toBytes());
+            }
+        });
+        EndpointHit last = hits.get(hits.size() - 1);
+        watermarkRepo.updateWatermark(JOB, new Watermark(last.getReceivedAt(), last.getId()));
+        log.debug("Folded {} hits into {} unique visitor sketches.", hits.size(), buckets.size());
+        return hits.size();
+    }
+
+    private void mergeSketches(Map<SketchKey, HyperLogLog> sketches, Granularity granularity,
+                               LocalDate from, LocalDate to, List<String> uris) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        sketchRepo.forEachSketch(granularity, from, to, uris, (app, uri, registers) ->
+                sketches.computeIfAbsent(new SketchKey(app, uri), key -> new HyperLogLog())
+                        .merge(HyperLogLog.fromBytes(registers)));
+    }
+
+    private void addVisitor(Map<SketchKey, HyperLogLog> sketches, EndpointHit hit) {
+        sketches.computeIfAbsent(new SketchKey(hit.getApp(), hit.getUri()), key -> new HyperLogLog())
+                .add(hit.getIp());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class SketchKey {
+        private final String app;
+        private final String uri;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class BucketKey {
+        private final String app;
+        private final String uri;
+        private final Granularity granularity;
+        private final LocalDate bucket;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.server.util;
+
+import java.nio.charset.StandardCharsets;
+
+public final class HyperLogLog {
+    public static final int PRECISION = 12;
+    public static final int REGISTER_COUNT = 1 << PRECISION;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTER_COUNT];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length != REGISTER_COUNT) {
+            throw new IllegalArgumentException("Sketch must have " + REGISTER_COUNT + " registers, got " + bytes.length);
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << PRECISION) + 1, Long.SIZE - PRECISION + 1);
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+        double estimate = alpha * REGISTER_COUNT * REGISTER_COUNT / sum;
+        if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        return registers.clone();
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
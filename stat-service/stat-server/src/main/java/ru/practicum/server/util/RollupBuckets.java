@@ -0,0 +1,25 @@
+package ru.practicum.server.util;
+
+import ru.practicum.server.model.EndpointHit;
+import ru.practicum.server.model.RollupBucket;
+import ru.practicum.server.util.enums.Granularity;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class RollupBuckets {
+    public static final List<Granularity> GRANULARITIES = List.of(Granularity.MINUTE, Granularity.HOUR,
+            Granularity.DAY);
+
+    public static Map<RollupBucket, Long> countHits(List<EndpointHit> hits) {
+        Map<RollupBucket, Long> buckets = new HashMap<>();
+        for (EndpointHit hit : hits) {
+            for (Granularity granularity : GRANULARITIES) {
+                buckets.merge(new RollupBucket(hit.getApp(), hit.getUri(), granularity,
+                        granularity.truncate(hit.getTimestamp())), 1L, Long::sum);
+            }
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.server.util.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum Granularity {
+    MINUTE,
+    HOUR,
+    DAY,
+    MONTH;
+
+    public LocalDateTime truncate(LocalDateTime timestamp) {
+        switch (this) {
+            case MINUTE:
+                return timestamp.truncatedTo(ChronoUnit.MINUTES);
+            case HOUR:
+                return timestamp.truncatedTo(ChronoUnit.HOURS);
+            case DAY:
+                return timestamp.truncatedTo(ChronoUnit.DAYS);
+            default:
+                return timestamp.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        }
+    }
+
+    public LocalDateTime ceil(LocalDateTime timestamp) {
+        LocalDateTime truncated = truncate(timestamp);
+        return truncated.equals(timestamp) ? truncated : next(truncated);
+    }
+
+    public LocalDateTime next(LocalDateTime bucket) {
+        switch (this) {
+            case MINUTE:
+                return bucket.plusMinutes(1);
+            case HOUR:
+                return bucket.plusHours(1);
+            case DAY:
+                return bucket.plusDays(1);
+            default:
+                return bucket.plusMonths(1);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+CREATE TABLE IF NOT EXISTS hits
+(
+    id        bigint generated by default as identity not null,
+    app       VARCHAR(128)                             NOT NULL,
+    uri       VARCHAR(512)                             NOT NULL,
+    ip        VARCHAR(128)                             NOT NULL,
+    timestamp timestamp WITHOUT TIME ZONE             NOT NULL,
+    received_at timestamp WITHOUT TIME ZONE DEFAULT LOCALTIMESTAMP NOT NULL,
+    CONSTRAINT pk_hits PRIMARY KEY (id)
+);
+
+ALTER TABLE hits ADD COLUMN IF NOT EXISTS received_at timestamp WITHOUT TIME ZONE
+    DEFAULT TIMESTAMP '1970-01-01 00:00:00' NOT NULL;
+ALTER TABLE hits ALTER COLUMN received_at SET DEFAULT LOCALTIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_hits_timestamp ON hits (timestamp);
+CREATE INDEX IF NOT EXISTS idx_hits_uri_timestamp ON hits (uri, timestamp);
+CREATE INDEX IF NOT EXISTS idx_hits_received_at ON hits (received_at, id);
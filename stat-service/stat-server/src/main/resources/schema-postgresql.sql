@@ -0,0 +1,48 @@
+DO '
+DECLARE
+    item record;
+BEGIN
+    IF to_regclass(''hits'') IS NOT NULL
+            AND NOT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(''hits'')) THEN
+        ALTER TABLE hits RENAME TO hits_unpartitioned;
+        FOR item IN SELECT conname FROM pg_constraint
+                WHERE conrelid = to_regclass(''hits_unpartitioned'') AND contype = ''p'' LOOP
+            EXECUTE format(''ALTER TABLE hits_unpartitioned DROP CONSTRAINT %I'', item.conname);
+        END LOOP;
+        FOR item IN SELECT indexrelid::regclass AS name FROM pg_index
+                WHERE indrelid = to_regclass(''hits_unpartitioned'') LOOP
+            EXECUTE format(''DROP INDEX %s'', item.name);
+        END LOOP;
+    END IF;
+END';
+
+CREATE TABLE IF NOT EXISTS hits
+(
+    id        bigint generated by default as identity not null,
+    app       VARCHAR(128)                             NOT NULL,
+    uri       VARCHAR(512)                             NOT NULL,
+    ip        VARCHAR(128)                             NOT NULL,
+    timestamp timestamp WITHOUT TIME ZONE             NOT NULL,
+    received_at timestamp WITHOUT TIME ZONE DEFAULT LOCALTIMESTAMP NOT NULL,
+    CONSTRAINT pk_hits PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE TABLE IF NOT EXISTS hits_default PARTITION OF hits DEFAULT;
+
+ALTER TABLE hits ADD COLUMN IF NOT EXISTS received_at timestamp WITHOUT TIME ZONE
+    DEFAULT TIMESTAMP '1970-01-01 00:00:00' NOT NULL;
+ALTER TABLE hits ALTER COLUMN received_at SET DEFAULT LOCALTIMESTAMP;
+
+DO '
+BEGIN
+    IF to_regclass(''hits_unpartitioned'') IS NOT NULL THEN
+        INSERT INTO hits (id, app, uri, ip, timestamp, received_at)
+        SELECT id, app, uri, ip, timestamp, TIMESTAMP ''1970-01-01 00:00:00'' FROM hits_unpartitioned;
+        PERFORM setval(pg_get_serial_sequence(''hits'', ''id''), COALESCE((SELECT MAX(id) FROM hits), 0) + 1, false);
+        DROP TABLE hits_unpartitioned;
+    END IF;
+END';
+
+CREATE INDEX IF NOT EXISTS idx_hits_timestamp ON hits (timestamp) INCLUDE (app, uri, ip);
+CREATE INDEX IF NOT EXISTS idx_hits_uri_timestamp ON hits (uri, timestamp) INCLUDE (app, ip);
+CREATE INDEX IF NOT EXISTS idx_hits_received_at ON hits (received_at, id);
@@ -1,11 +1,30 @@
-DROP TABLE IF EXISTS hits;
+CREATE TABLE IF NOT EXISTS hit_rollups
+(
+    app         VARCHAR(128) NOT NULL,
+    uri         VARCHAR(512) NOT NULL,
+    granularity VARCHAR(16)  NOT NULL,
+    bucket      timestamp WITHOUT TIME ZONE NOT NULL,
+    hits        bigint       NOT NULL,
+    CONSTRAINT pk_hit_rollups PRIMARY KEY (granularity, bucket, uri, app)
+);
+
+CREATE TABLE IF NOT EXISTS hit_sketches
+(
+    app         VARCHAR(128) NOT NULL,
+    uri         VARCHAR(512) NOT NULL,
+    granularity VARCHAR(16)  NOT NULL,
+    bucket      DATE         NOT NULL,
+    registers   BYTEA        NOT NULL,
+    CONSTRAINT pk_hit_sketches PRIMARY KEY (granularity, bucket, uri, app)
+);
 
-CREATE TABLE IF NOT EXISTS hits
+CREATE TABLE IF NOT EXISTS stats_job_watermarks
 (
-    id        bigint generated by default as identity not null,
+    job         VARCHAR(64) NOT NULL,
+    last_hit_id bigint      NOT NULL,
+    last_received_at timestamp WITHOUT TIME ZONE DEFAULT TIMESTAMP '1970-01-01 00:00:00' NOT NULL,
+    CONSTRAINT pk_stats_job_watermarks PRIMARY KEY (job)
+);
 
-    app       VARCHAR(128)                             NOT NULL,
-    uri       VARCHAR(512)                             NOT NULL,
-    ip        VARCHAR(128)                             NOT NULL,
-    timestamp timestamp WITHOUT TIME ZONE             NOT NULL
-);
\ No newline at end of file
+ALTER TABLE stats_job_watermarks ADD COLUMN IF NOT EXISTS last_received_at timestamp WITHOUT TIME ZONE
+    DEFAULT TIMESTAMP '1970-01-01 00:00:00' NOT NULL;